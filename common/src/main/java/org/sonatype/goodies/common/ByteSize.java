@@ -12,6 +12,8 @@
  */
 package org.sonatype.goodies.common;
 
+import com.google.common.math.LongMath;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.sonatype.goodies.common.ByteSize.ByteUnit.BYTES;
 import static org.sonatype.goodies.common.ByteSize.ByteUnit.GIGABYTES;
@@ -32,9 +34,13 @@ import static org.sonatype.goodies.common.ByteSize.ByteUnit.TERABYTES;
  * <li>TERABYTES</li>
  * </ul>
  *
+ * Sizes are ordered by number of bytes; {@link #compareTo} is therefore inconsistent with {@link #equals}, which also
+ * considers the unit.
+ *
  * @since 1.1
  */
 public final class ByteSize
+    implements Comparable<ByteSize>
 {
   public static enum ByteUnit
   {
@@ -44,89 +50,52 @@ public final class ByteSize
     GIGABYTES,
     TERABYTES;
 
-    public long asBytes(final long value) {
-      switch (this) {
-        case BYTES:
-          return value;
-        case KILOBYTES:
-          return value * 1024;
-        case MEGABYTES:
-          return value * 1024 * 1024;
-        case GIGABYTES:
-          return value * 1024 * 1024 * 1024;
-        case TERABYTES:
-          return value * 1024 * 1024 * 1024 * 1024;
-        default:
-          throw new Error();
+    /**
+     * Power of 1024 of this unit, as a shift.
+     */
+    private int shift() {
+      return ordinal() * 10;
+    }
+
+    /**
+     * Convert value in given source unit to this unit.
+     *
+     * Conversions to a smaller unit are exact and throw {@link ArithmeticException} on overflow; conversions to a
+     * larger unit truncate.
+     *
+     * @since 3.0.1
+     */
+    public long convert(final long value, final ByteUnit sourceUnit) {
+      int delta = sourceUnit.shift() - shift();
+      if (delta == 0) {
+        return value;
       }
+      else if (delta > 0) {
+        return Math.multiplyExact(value, 1L << delta);
+      }
+      else {
+        return value / (1L << -delta);
+      }
+    }
+
+    public long asBytes(final long value) {
+      return BYTES.convert(value, this);
     }
 
     public long asKiloBytes(final long value) {
-      switch (this) {
-        case BYTES:
-          return value / 1024;
-        case KILOBYTES:
-          return value;
-        case MEGABYTES:
-          return value * 1024;
-        case GIGABYTES:
-          return value * 1024 * 1024;
-        case TERABYTES:
-          return value * 1024 * 1024 * 1024;
-        default:
-          throw new Error();
-      }
+      return KILOBYTES.convert(value, this);
     }
 
     public long asMegaBytes(final long value) {
-      switch (this) {
-        case BYTES:
-          return value / 1024 * 1024;
-        case KILOBYTES:
-          return value / 1024;
-        case MEGABYTES:
-          return value;
-        case GIGABYTES:
-          return value * 1024;
-        case TERABYTES:
-          return value * 1024 * 1024;
-        default:
-          throw new Error();
-      }
+      return MEGABYTES.convert(value, this);
     }
 
     public long asGigaBytes(final long value) {
-      switch (this) {
-        case BYTES:
-          return value / 1024 * 1024 * 1024;
-        case KILOBYTES:
-          return value / 1024 * 1024;
-        case MEGABYTES:
-          return value / 1024;
-        case GIGABYTES:
-          return value;
-        case TERABYTES:
-          return value * 1024;
-        default:
-          throw new Error();
-      }
+      return GIGABYTES.convert(value, this);
     }
 
     public long asTeraBytes(final long value) {
-      switch (this) {
-        case BYTES:
-          return value / 1024 * 1024 * 1024 * 1024;
-        case KILOBYTES:
-          return value / 1024 * 1024 * 1024;
-        case MEGABYTES:
-          return value / 1024 * 1024;
-        case GIGABYTES:
-          return value / 1024;
-        case TERABYTES:
-          return value;
-        default:
-          throw new Error();
-      }
+      return TERABYTES.convert(value, this);
     }
   }
 
@@ -229,6 +198,81 @@ public final class ByteSize
     return teraBytes(toTeraBytes());
   }
 
+  //
+  // Arithmetic
+  //
+
+  private static ByteUnit smaller(final ByteUnit a, final ByteUnit b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  /**
+   * Returns the sum of this and given size, in the smaller of both units.
+   *
+   * @throws ArithmeticException on overflow
+   * @since 3.0.1
+   */
+  public ByteSize plus(final ByteSize size) {
+    checkNotNull(size);
+    ByteUnit target = smaller(unit, size.unit);
+    return new ByteSize(Math.addExact(target.convert(value, unit), target.convert(size.value, size.unit)), target);
+  }
+
+  /**
+   * Returns the difference of this and given size, in the smaller of both units.
+   *
+   * @throws ArithmeticException on overflow
+   * @since 3.0.1
+   */
+  public ByteSize minus(final ByteSize size) {
+    checkNotNull(size);
+    ByteUnit target = smaller(unit, size.unit);
+    return new ByteSize(Math.subtractExact(target.convert(value, unit), target.convert(size.value, size.unit)), target);
+  }
+
+  /**
+   * Returns this size multiplied by given factor, in the same unit.
+   *
+   * @throws ArithmeticException on overflow
+   * @since 3.0.1
+   */
+  public ByteSize times(final long factor) {
+    return new ByteSize(Math.multiplyExact(value, factor), unit);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Override
+  public int compareTo(final ByteSize size) {
+    checkNotNull(size);
+    if (unit == size.unit) {
+      return Long.compare(value, size.value);
+    }
+    else if (unit.compareTo(size.unit) > 0) {
+      return compareScaled(value, unit, size.value, size.unit);
+    }
+    else {
+      return -compareScaled(size.value, size.unit, value, unit);
+    }
+  }
+
+  /**
+   * Exactly compare value in larger unit against value in smaller unit, without overflow.
+   */
+  private static int compareScaled(final long large,
+                                   final ByteUnit largeUnit,
+                                   final long small,
+                                   final ByteUnit smallUnit)
+  {
+    long divisor = 1L << (largeUnit.shift() - smallUnit.shift());
+    long quotient = small / divisor;
+    if (large != quotient) {
+      return Long.compare(large, quotient);
+    }
+    return Long.compare(0, small % divisor);
+  }
+
   @Override
   public boolean equals(final Object obj) {
     if (this == obj) {
@@ -291,68 +335,126 @@ public final class ByteSize
   // Parsing
   //
 
+  /**
+   * Parse a human readable size; ie. {@code 512mb}, {@code 1.5 GiB} or {@code 100 kilobytes}.
+   *
+   * The parsed unit is retained when the size is a whole number of that unit, otherwise the size is in bytes.
+   *
+   * @see #parseBytes(CharSequence)
+   */
   public static ByteSize parse(final String value) {
     if (value != null) {
-      return doParse(value.trim().toLowerCase());
+      long bytes = parseBytes(value);
+      ByteUnit unit = UNITS[suffixCode(value, suffixStart(value), trimmedEnd(value)) >> 1];
+      if ((bytes & ((1L << unit.shift()) - 1)) == 0) {
+        return new ByteSize(bytes >> unit.shift(), unit);
+      }
+      return bytes(bytes);
     }
     return null;
   }
 
-  private static class ParseConfig
-  {
-    final ByteUnit unit;
-
-    final String[] suffixes;
+  /**
+   * Parse a human readable size to number of bytes, treating all units as powers of 1024.
+   *
+   * @since 3.0.1
+   * @see #parseBytes(CharSequence, boolean)
+   */
+  public static long parseBytes(final CharSequence value) {
+    return parseBytes(value, false);
+  }
 
-    private ParseConfig(final ByteUnit unit, final String... suffixes) {
-      this.unit = unit;
-      this.suffixes = suffixes;
+  /**
+   * Parse a human readable size to number of bytes, without allocation.
+   *
+   * Accepts an optionally fractional number followed by an optional case-insensitive unit suffix, surrounding
+   * whitespace is ignored.  IEC suffixes ({@code kib}, {@code mib}, {@code gib}, {@code tib}) are always powers of
+   * 1024; other suffixes are powers of 1000 if {@code decimal} is set, else powers of 1024.  Fractional bytes are
+   * truncated.
+   *
+   * @throws IllegalArgumentException if value is not a valid size or the result overflows
+   * @since 3.0.1
+   */
+  public static long parseBytes(final CharSequence value, final boolean decimal) {
+    checkNotNull(value);
+    try {
+      return doParse(value, decimal);
+    }
+    catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Size overflow: " + value, e);
     }
   }
 
-  private static final ParseConfig[] PARSE_CONFIGS = {
-      new ParseConfig(BYTES, "bytes", "byte", "b"),
-      new ParseConfig(KILOBYTES, "kilobytes", "kilobyte", "kib", "kb", "k"),
-      new ParseConfig(MEGABYTES, "megabytes", "megabyte", "mib", "mb", "m"),
-      new ParseConfig(GIGABYTES, "gigabytes", "gigabyte", "gib", "gb", "g"),
-      new ParseConfig(TERABYTES, "terabytes", "terabyte", "tib", "tb", "t"),
+  private static final ByteUnit[] UNITS = ByteUnit.values();
+
+  /**
+   * Suffixes, in lower-case, indexed by {@link ByteUnit#ordinal()}.
+   */
+  private static final String[][] SUFFIXES = {
+      { "", "b", "byte", "bytes" },
+      { "k", "kb", "kib", "kilobyte", "kilobytes" },
+      { "m", "mb", "mib", "megabyte", "megabytes" },
+      { "g", "gb", "gib", "gigabyte", "gigabytes" },
+      { "t", "tb", "tib", "terabyte", "terabytes" },
   };
 
-  private static ByteSize doParse(final String value) {
-    for (ParseConfig config : PARSE_CONFIGS) {
-      ByteSize t = extract(value, config.unit, config.suffixes);
-      if (t != null) {
-        return t;
-      }
+  private static long doParse(final CharSequence value, final boolean decimal) {
+    int length = value.length();
+    int p = 0;
+    while (p < length && Character.isWhitespace(value.charAt(p))) {
+      p++;
+    }
+
+    int number = p;
+    int numberEnd = Decimals.skipNumber(value, p);
+    if (numberEnd == number) {
+      throw new IllegalArgumentException("Unable to parse: " + value);
     }
-    throw new RuntimeException("Unable to parse: " + value);
+    p = numberEnd;
+
+    while (p < length && Character.isWhitespace(value.charAt(p))) {
+      p++;
+    }
+    int code = suffixCode(value, p, trimmedEnd(value));
+    if (code < 0) {
+      throw new IllegalArgumentException("Unable to parse: " + value);
+    }
+
+    ByteUnit unit = UNITS[code >> 1];
+    boolean binary = !decimal || (code & 1) != 0;
+    long multiplier = binary ? 1L << unit.shift() : LongMath.pow(1000, unit.ordinal());
+
+    long bytes = Math.multiplyExact(Decimals.wholePart(value, number, numberEnd), multiplier);
+    return Math.addExact(bytes, Decimals.fractionPart(multiplier, value, number, numberEnd));
   }
 
-  private static ByteSize extract(final String value, final ByteUnit unit, final String... suffixes) {
-    String number=null, units=null;
+  private static int trimmedEnd(final CharSequence value) {
+    int end = value.length();
+    while (end > 0 && Character.isWhitespace(value.charAt(end - 1))) {
+      end--;
+    }
+    return end;
+  }
 
-    for (int p=0; p<value.length(); p++) {
-      // skip until we find a non-digit
-      if (Character.isDigit(value.charAt(p))) {
-        continue;
-      }
-      // split number and units suffix string
-      number = value.substring(0, p);
-      units = value.substring(p, value.length()).trim();
-      break;
+  private static int suffixStart(final CharSequence value) {
+    int start = trimmedEnd(value);
+    while (start > 0 && Character.isLetter(value.charAt(start - 1))) {
+      start--;
     }
+    return start;
+  }
 
-    // if decoded units, check if its one of the supported suffixes
-    if (units != null) {
-      for (String suffix : suffixes) {
-        if (suffix.equals(units)) {
-          long n = Long.parseLong(number.trim());
-          return new ByteSize(n, unit);
+  /**
+   * Returns {@code ordinal << 1 | iec} of the unit matching given region, or {@code -1}.
+   */
+  private static int suffixCode(final CharSequence value, final int start, final int end) {
+    for (int ordinal = 0; ordinal < SUFFIXES.length; ordinal++) {
+      for (String suffix : SUFFIXES[ordinal]) {
+        if (Decimals.matches(value, start, end, suffix)) {
+          return ordinal << 1 | (suffix.endsWith("ib") ? 1 : 0);
         }
       }
     }
-
-    // else can not extract
-    return null;
+    return -1;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Cached, typed view of a {@link SystemProperty}.
+ *
+ * The converted value is retained until the raw property text changes, so hot paths avoid repeated
+ * conversion.  Changes made through this view, or detected on {@link #get()} or {@link #refresh()}, are reported
+ * to registered {@link Listener listeners}; a listener which throws is logged and does not affect the others.
+ *
+ * @since 3.0.1
+ */
+public class CachedSystemProperty<T>
+{
+  private static final Logger log = Loggers.getLogger(CachedSystemProperty.class);
+
+  /**
+   * Receives notification when the value of a cached property changes.
+   */
+  public interface Listener<T>
+  {
+    void changed(CachedSystemProperty<T> property, @Nullable T oldValue, @Nullable T newValue);
+  }
+
+  private static final class Snapshot<T>
+  {
+    @Nullable
+    private final String raw;
+
+    @Nullable
+    private final T value;
+
+    private Snapshot(@Nullable final String raw, @Nullable final T value) {
+      this.raw = raw;
+      this.value = value;
+    }
+  }
+
+  private final SystemProperty property;
+
+  private final Function<String, T> converter;
+
+  @Nullable
+  private final T defaultValue;
+
+  private final List<Listener<T>> listeners = new CopyOnWriteArrayList<>();
+
+  @Nullable
+  private volatile Snapshot<T> snapshot;
+
+  public CachedSystemProperty(final SystemProperty property, final Class<T> type, @Nullable final T defaultValue) {
+    this.property = checkNotNull(property);
+    this.converter = SystemProperty.converter(checkNotNull(type));
+    this.defaultValue = defaultValue;
+  }
+
+  public SystemProperty property() {
+    return property;
+  }
+
+  public String name() {
+    return property.name();
+  }
+
+  /**
+   * Returns the converted value, or the default value if the property is not set.
+   */
+  @Nullable
+  public T get() {
+    Snapshot<T> current = snapshot;
+    String raw = property.get();
+    if (current != null && Objects.equals(current.raw, raw)) {
+      return current.value;
+    }
+    return update(raw, current != null);
+  }
+
+  public void set(@Nullable final Object value) {
+    property.set(value);
+    refresh();
+  }
+
+  public void remove() {
+    property.remove();
+    refresh();
+  }
+
+  /**
+   * Re-read the property, notifying listeners if its value has changed.
+   */
+  public void refresh() {
+    update(property.get(), true);
+  }
+
+  public void addListener(final Listener<T> listener) {
+    listeners.add(checkNotNull(listener));
+  }
+
+  public void removeListener(final Listener<T> listener) {
+    listeners.remove(checkNotNull(listener));
+  }
+
+  @Nullable
+  private T update(@Nullable final String raw, final boolean notify) {
+    Snapshot<T> previous;
+    Snapshot<T> next;
+    synchronized (this) {
+      previous = snapshot;
+      if (previous != null && Objects.equals(previous.raw, raw)) {
+        return previous.value;
+      }
+      next = new Snapshot<>(raw, raw == null ? defaultValue : converter.apply(raw));
+      snapshot = next;
+    }
+    // notify outside of lock
+    if (notify && previous != null && !Objects.equals(previous.value, next.value)) {
+      for (Listener<T> listener : listeners) {
+        try {
+          listener.changed(this, previous.value, next.value);
+        }
+        catch (Exception e) {
+          // a failing listener must neither fail the caller nor starve the remaining listeners
+          log.warn("Listener {} failed for: {}", listener, property.name(), e);
+        }
+      }
+    }
+    return next.value;
+  }
+
+  @Override
+  public String toString() {
+    return property.name() + "=" + get();
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Thread-safe {@link MultipleFailures} with bounded retention and optional de-duplication.
+ *
+ * When de-duplicating, failures with the same type, message and top stack-frame are retained once with an
+ * occurrence count.  Once {@code limit} distinct failures are retained further distinct failures are only counted.
+ *
+ * @since 3.0.1
+ */
+public class ConcurrentMultipleFailures
+  extends MultipleFailures
+{
+  private final int limit;
+
+  private final boolean deduplicate;
+
+  private final Map<Key, Entry> index = new ConcurrentHashMap<>();
+
+  private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger retained = new AtomicInteger();
+
+  private final LongAdder occurrences = new LongAdder();
+
+  private final LongAdder dropped = new LongAdder();
+
+  public ConcurrentMultipleFailures(final int limit, final boolean deduplicate) {
+    super(0);
+    checkArgument(limit > 0, "Limit must be positive");
+    this.limit = limit;
+    this.deduplicate = deduplicate;
+  }
+
+  /**
+   * De-duplicating and unbounded.
+   */
+  public ConcurrentMultipleFailures() {
+    this(Integer.MAX_VALUE, true);
+  }
+
+  /**
+   * Identity of a failure for de-duplication.
+   */
+  private static final class Key
+  {
+    private final Class<?> type;
+
+    @Nullable
+    private final String message;
+
+    @Nullable
+    private final StackTraceElement frame;
+
+    private Key(final Throwable failure) {
+      this.type = failure.getClass();
+      this.message = failure.getMessage();
+      StackTraceElement[] trace = failure.getStackTrace();
+      this.frame = trace.length == 0 ? null : trace[0];
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key that = (Key) obj;
+      return type == that.type
+          && Objects.equal(message, that.message)
+          && Objects.equal(frame, that.frame);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(type, message, frame);
+    }
+  }
+
+  private static final class Entry
+  {
+    private final Throwable failure;
+
+    private final LongAdder count = new LongAdder();
+
+    private Entry(final Throwable failure) {
+      this.failure = failure;
+    }
+  }
+
+  @Override
+  public void add(final Throwable failure) {
+    checkNotNull(failure);
+    occurrences.increment();
+
+    if (!deduplicate) {
+      Entry entry = retain(failure);
+      if (entry != null) {
+        entry.count.increment();
+      }
+      return;
+    }
+
+    Key key = new Key(failure);
+    Entry entry = index.get(key);
+    if (entry == null) {
+      entry = index.computeIfAbsent(key, k -> retain(failure));
+    }
+    if (entry != null) {
+      entry.count.increment();
+    }
+  }
+
+  /**
+   * Retain a new distinct failure, or count it as dropped if limit has been reached.
+   */
+  @Nullable
+  private Entry retain(final Throwable failure) {
+    if (retained.incrementAndGet() > limit) {
+      retained.decrementAndGet();
+      dropped.increment();
+      return null;
+    }
+    log.trace("Adding: {}", failure);
+    Entry entry = new Entry(failure);
+    entries.add(entry);
+    return entry;
+  }
+
+  /**
+   * Snapshot of retained failures, in the order first added.
+   */
+  @Override
+  public List<Throwable> getFailures() {
+    ImmutableList.Builder<Throwable> builder = ImmutableList.builder();
+    for (Entry entry : entries) {
+      builder.add(entry.failure);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Snapshot of retained failures with their occurrence counts, in the order first added.
+   */
+  public Map<Throwable, Long> getFailureCounts() {
+    // without de-duplication the same instance may be retained more than once
+    Map<Throwable, Long> counts = new LinkedHashMap<>();
+    for (Entry entry : entries) {
+      counts.merge(entry.failure, entry.count.sum(), Long::sum);
+    }
+    return ImmutableMap.copyOf(counts);
+  }
+
+  /**
+   * Number of retained failures.
+   */
+  @Override
+  public int size() {
+    return Math.min(retained.get(), limit);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  @Override
+  public long getOccurrences() {
+    return occurrences.sum();
+  }
+
+  /**
+   * Number of failures not retained due to limit.
+   */
+  @Override
+  public long getDropped() {
+    return dropped.sum();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+/**
+ * Allocation-free helpers for parsing decimal numbers and unit suffixes from regions of a {@link CharSequence}.
+ *
+ * @since 3.0.1
+ */
+final class Decimals
+{
+  /**
+   * Maximum number of significant fraction digits; keeps fraction scaling within range of {@code long}.
+   */
+  static final int MAX_FRACTION_DIGITS = 9;
+
+  private Decimals() {
+    // empty
+  }
+
+  /**
+   * Returns the end of the run of ASCII digits starting at given position.
+   */
+  static int skipDigits(final CharSequence value, int p) {
+    char c;
+    while (p < value.length() && (c = value.charAt(p)) >= '0' && c <= '9') {
+      p++;
+    }
+    return p;
+  }
+
+  /**
+   * Returns the end of the optionally fractional number starting at given position; ie. {@code 1}, {@code 1.5},
+   * {@code .5} or {@code 1.}.  Returns given position if there is no number.
+   */
+  static int skipNumber(final CharSequence value, final int p) {
+    int end = skipDigits(value, p);
+    if (end < value.length() && value.charAt(end) == '.') {
+      int fractionEnd = skipDigits(value, end + 1);
+      if (end > p || fractionEnd > end + 1) {
+        return fractionEnd;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * Returns the whole part of given number region.
+   *
+   * @throws ArithmeticException if the result overflows
+   */
+  static long wholePart(final CharSequence value, final int start, final int end) {
+    long result = 0;
+    char c;
+    for (int i = start; i < end && (c = value.charAt(i)) != '.'; i++) {
+      result = Math.addExact(Math.multiplyExact(result, 10), c - '0');
+    }
+    return result;
+  }
+
+  /**
+   * Returns multiplier scaled by the fraction of given number region, truncated; fraction digits beyond
+   * {@link #MAX_FRACTION_DIGITS} are ignored.
+   */
+  static long fractionPart(final long multiplier, final CharSequence value, final int start, final int end) {
+    int point = start;
+    while (point < end && value.charAt(point) != '.') {
+      point++;
+    }
+    long fraction = 0;
+    long scale = 1;
+    int last = Math.min(end, point + 1 + MAX_FRACTION_DIGITS);
+    for (int i = point + 1; i < last; i++) {
+      fraction = fraction * 10 + (value.charAt(i) - '0');
+      scale *= 10;
+    }
+    // fraction < scale, so neither term can overflow
+    return (multiplier / scale) * fraction + (multiplier % scale) * fraction / scale;
+  }
+
+  /**
+   * Returns true if given region matches given lower-case suffix, ignoring case.
+   */
+  static boolean matches(final CharSequence value, final int start, final int end, final String suffix) {
+    if (end - start != suffix.length()) {
+      return false;
+    }
+    for (int i = 0; i < suffix.length(); i++) {
+      if (Character.toLowerCase(value.charAt(start + i)) != suffix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
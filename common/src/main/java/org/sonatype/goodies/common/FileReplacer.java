@@ -14,20 +14,39 @@ package org.sonatype.goodies.common;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
-import com.google.common.io.Files;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.slf4j.Logger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * Helper to facilitate writing to a temporary file and replacing target file with optional backup.
  *
+ * Replacements of the same target are serialized within the JVM; see {@link #setCoalesce(boolean)} and
+ * {@link #setLockFile(boolean)} for skipping superseded writes and coordinating with other processes.
+ *
  * @since 1.7
  */
 public class FileReplacer
@@ -36,6 +55,31 @@ public class FileReplacer
 
   private static final Logger log = Loggers.getLogger(FileReplacer.class);
 
+  /**
+   * Maximum bytes per {@link FileChannel#transferFrom} call.
+   */
+  private static final long TRANSFER_SIZE = 8L * 1024 * 1024;
+
+  /**
+   * Coordinates replacements of the same target within this JVM.
+   */
+  private static class Coordinator
+  {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Generation of the most recent replacement request.
+     */
+    private final AtomicLong requested = new AtomicLong();
+  }
+
+  /**
+   * Coordinators by normalized target path; weakly held, as they are only needed while replacements are in flight.
+   */
+  private static final LoadingCache<Path, Coordinator> coordinators = CacheBuilder.newBuilder()
+      .weakValues()
+      .build(CacheLoader.from(path -> new Coordinator()));
+
   private final File file;
 
   private final String filePrefix;
@@ -46,6 +90,14 @@ public class FileReplacer
 
   private boolean deleteBackupFile;
 
+  private boolean durable;
+
+  private boolean coalesce;
+
+  private boolean lockFile;
+
+  private boolean skipped;
+
   public FileReplacer(final File file) throws IOException {
     this.file = checkNotNull(file);
 
@@ -98,25 +150,145 @@ public class FileReplacer
     this.deleteBackupFile = deleteBackupFile;
   }
 
+  /**
+   * @since 3.0.1
+   */
+  public boolean isDurable() {
+    return durable;
+  }
+
+  /**
+   * When enabled, written content and the parent directory are forced to storage before and after replacement.
+   *
+   * @since 3.0.1
+   */
+  public void setDurable(final boolean durable) {
+    this.durable = durable;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public boolean isCoalesce() {
+    return coalesce;
+  }
+
+  /**
+   * When enabled, a replacement which has been superseded by a later request for the same target, while waiting
+   * for an earlier one to complete, is skipped without writing content.
+   *
+   * @see #isSkipped()
+   * @since 3.0.1
+   */
+  public void setCoalesce(final boolean coalesce) {
+    this.coalesce = coalesce;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public boolean isLockFile() {
+    return lockFile;
+  }
+
+  /**
+   * When enabled, replacement holds a {@link FileLock} on {@link #getLockFile()} to serialize with other processes.
+   *
+   * @since 3.0.1
+   */
+  public void setLockFile(final boolean lockFile) {
+    this.lockFile = lockFile;
+  }
+
+  /**
+   * Sidecar file locked when {@link #isLockFile()} is enabled; shared by all replacers of the same target.
+   *
+   * @since 3.0.1
+   */
+  public File getLockFile() {
+    return new File(file.getParentFile(), file.getName() + ".lock");
+  }
+
+  /**
+   * True if the last replacement was skipped because it was superseded.
+   *
+   * @since 3.0.1
+   */
+  public boolean isSkipped() {
+    return skipped;
+  }
+
   public static interface ContentWriter
   {
     void write(final BufferedOutputStream output) throws IOException;
   }
 
+  /**
+   * Writes content directly to the temporary file channel.
+   *
+   * @since 3.0.1
+   */
+  public static interface ChannelWriter
+  {
+    void write(final FileChannel channel) throws IOException;
+  }
+
   public void replace(final ContentWriter writer) throws IOException {
     checkNotNull(writer);
+    replaceChannel(channel -> {
+      // setup buffering, as almost certainly anywhere using this class is going to want this
+      BufferedOutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel));
+      writer.write(output);
+      output.flush();
+    });
+  }
 
-    // setup buffering, as almost certainly anywhere using this class is going to want this
-    BufferedOutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile));
+  /**
+   * @since 3.0.1
+   */
+  public void replaceChannel(final ChannelWriter writer) throws IOException {
+    checkNotNull(writer);
 
-    // delegate to do the write operation
-    try {
-      try {
-        writer.write(output);
+    // replacements of the same target within this JVM are always serialized
+    Coordinator coordinator = coordinators.getUnchecked(file.getAbsoluteFile().toPath().normalize());
+    long generation = coordinator.requested.incrementAndGet();
+    coordinator.lock.lock();
+    try (FileChannel ignored = lockFile ? acquireFileLock() : null) {
+      skipped = coalesce && coordinator.requested.get() != generation;
+      if (skipped) {
+        log.debug("Replacement superseded; skipping: {}", file);
+        Files.deleteIfExists(tempFile.toPath());
+        return;
       }
-      finally {
-        // always close after success or failure
-        output.close();
+      write(writer);
+    }
+    finally {
+      coordinator.lock.unlock();
+    }
+  }
+
+  /**
+   * Open and lock {@link #getLockFile()}; lock is released when returned channel is closed.
+   */
+  private FileChannel acquireFileLock() throws IOException {
+    FileChannel channel = FileChannel.open(getLockFile().toPath(), CREATE, WRITE);
+    try {
+      log.trace("Locking: {}", getLockFile());
+      channel.lock();
+      return channel;
+    }
+    catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void write(final ChannelWriter writer) throws IOException {
+    // delegate to do the write operation
+    try (FileChannel channel = FileChannel.open(tempFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+      writer.write(channel);
+      if (durable) {
+        force(channel);
       }
     }
     catch (IOException e) {
@@ -129,32 +301,110 @@ public class FileReplacer
     replaceFile();
   }
 
+  /**
+   * Replace file with all content from given source, using {@link FileChannel#transferFrom} to avoid copying
+   * through user-space buffers where the platform allows.  The source must be in blocking mode and is not closed.
+   *
+   * @since 3.0.1
+   */
+  public void replaceFrom(final ReadableByteChannel source) throws IOException {
+    checkNotNull(source);
+    replaceChannel(channel -> {
+      long position = 0;
+      long count;
+      while ((count = channel.transferFrom(source, position, TRANSFER_SIZE)) > 0) {
+        position += count;
+      }
+    });
+  }
+
+  private void force(final FileChannel channel) throws IOException {
+    if (channel.isOpen()) {
+      channel.force(true);
+    }
+    else {
+      // writer closed the channel; sync through a new one
+      try (FileChannel reopened = FileChannel.open(tempFile.toPath(), WRITE)) {
+        reopened.force(true);
+      }
+    }
+  }
+
   private void replaceFile() throws IOException {
     checkState(tempFile.exists(), "Temporary file missing");
 
-    // backup target file if it exists
-    if (file.exists()) {
+    Path target = file.toPath();
+    Path temp = tempFile.toPath();
+    Path backup = backupFile.toPath();
+
+    if (Files.exists(target)) {
+      if (deleteBackupFile) {
+        // no backup wanted; try to replace in a single atomic rename
+        if (atomicMove(temp, target)) {
+          syncDirectory();
+          return;
+        }
+      }
+
+      // backup target file
       log.trace("Backing up target file: {} -> {}", file, backupFile);
 
-      if (backupFile.exists()) {
+      if (Files.exists(backup)) {
         log.warn("Backup file already exists; removing: {}", backupFile);
         delete(backupFile);
       }
 
-      Files.move(file, backupFile);
+      // prefer a hard-link so the target is never missing; fallback to rename
+      try {
+        Files.createLink(backup, target);
+      }
+      catch (UnsupportedOperationException | IOException e) {
+        log.trace("Unable to link backup file; moving: {}", e.toString());
+        Files.move(target, backup);
+      }
     }
 
     // move tmp file into place
     log.trace("Replacing file: {} -> {}", tempFile, file);
-    Files.move(tempFile, file);
+    if (!atomicMove(temp, target)) {
+      Files.move(temp, target, REPLACE_EXISTING);
+    }
+    syncDirectory();
 
     // delete the backup file if requested
-    if (backupFile.exists() && deleteBackupFile) {
+    if (deleteBackupFile && Files.exists(backup)) {
       log.trace("Deleting backup file: {}", backupFile);
       delete(backupFile);
     }
   }
 
+  private static boolean atomicMove(final Path source, final Path target) throws IOException {
+    try {
+      Files.move(source, target, ATOMIC_MOVE);
+      return true;
+    }
+    catch (AtomicMoveNotSupportedException e) {
+      log.trace("Atomic move not supported: {} -> {}", source, target);
+      return false;
+    }
+  }
+
+  /**
+   * Force parent directory entries to storage when {@link #isDurable() durable}.
+   */
+  private void syncDirectory() {
+    if (!durable) {
+      return;
+    }
+    // not supported on all platforms (ie. windows); best-effort
+    try (FileChannel channel = FileChannel.open(file.getAbsoluteFile().getParentFile().toPath(), READ)) {
+      channel.force(true);
+    }
+    catch (IOException e) {
+      log.debug("Unable to sync directory of: {}", file, e);
+    }
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName() + "{" +
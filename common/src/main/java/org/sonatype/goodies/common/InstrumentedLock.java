@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * {@link Lock} wrapper recording {@link LockMetrics} and tracking holders and waiters for diagnostics.
+ *
+ * Hold time is measured from the outermost acquisition to the matching release; time spent awaiting a
+ * {@link Condition} is counted as held.
+ *
+ * @see Locks#instrument(String, Lock)
+ * @since 3.0.1
+ */
+public final class InstrumentedLock
+    implements Lock
+{
+  private static final class Hold
+  {
+    private int depth;
+
+    private long since;
+  }
+
+  private final Lock delegate;
+
+  private final LockMetrics metrics;
+
+  private final Map<Thread, Hold> holders = new ConcurrentHashMap<>();
+
+  private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Other half of an instrumented read-write lock, if any; included in diagnostics.
+   */
+  @Nullable
+  private InstrumentedLock peer;
+
+  public InstrumentedLock(final Lock delegate, final LockMetrics metrics) {
+    this.delegate = checkNotNull(delegate);
+    this.metrics = checkNotNull(metrics);
+  }
+
+  public Lock getDelegate() {
+    return delegate;
+  }
+
+  public LockMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  public void lock() {
+    if (!delegate.tryLock()) {
+      long start = System.nanoTime();
+      waiting();
+      try {
+        delegate.lock();
+      }
+      finally {
+        waiters.remove(Thread.currentThread());
+      }
+      acquired(System.nanoTime() - start, true);
+      return;
+    }
+    acquired(0, false);
+  }
+
+  @Override
+  public void lockInterruptibly() throws InterruptedException {
+    if (!delegate.tryLock()) {
+      long start = System.nanoTime();
+      waiting();
+      try {
+        delegate.lockInterruptibly();
+      }
+      finally {
+        waiters.remove(Thread.currentThread());
+      }
+      acquired(System.nanoTime() - start, true);
+      return;
+    }
+    acquired(0, false);
+  }
+
+  @Override
+  public boolean tryLock() {
+    if (delegate.tryLock()) {
+      acquired(0, false);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException {
+    if (delegate.tryLock()) {
+      acquired(0, false);
+      return true;
+    }
+    long start = System.nanoTime();
+    waiting();
+    boolean locked;
+    try {
+      locked = delegate.tryLock(time, unit);
+    }
+    finally {
+      waiters.remove(Thread.currentThread());
+    }
+    if (locked) {
+      acquired(System.nanoTime() - start, true);
+    }
+    else {
+      metrics.timedOut();
+    }
+    return locked;
+  }
+
+  @Override
+  public void unlock() {
+    Thread thread = Thread.currentThread();
+    Hold hold = holders.get(thread);
+    delegate.unlock();
+    if (hold != null && --hold.depth == 0) {
+      holders.remove(thread);
+      metrics.released(System.nanoTime() - hold.since);
+    }
+  }
+
+  @Override
+  public Condition newCondition() {
+    return delegate.newCondition();
+  }
+
+  private void waiting() {
+    waiters.add(Thread.currentThread());
+  }
+
+  private void acquired(final long waitNanos, final boolean contended) {
+    Hold hold = holders.computeIfAbsent(Thread.currentThread(), thread -> new Hold());
+    if (hold.depth++ == 0) {
+      hold.since = System.nanoTime();
+    }
+    metrics.acquired(waitNanos, contended);
+  }
+
+  void setPeer(final InstrumentedLock peer) {
+    this.peer = peer;
+  }
+
+  /**
+   * Describe current holders and waiters, including those of the other half of a read-write lock.
+   */
+  public String describe() {
+    StringBuilder buff = new StringBuilder();
+    describe(buff);
+    if (peer != null) {
+      buff.append("; ");
+      peer.describe(buff);
+    }
+    return buff.toString();
+  }
+
+  private void describe(final StringBuilder buff) {
+    long now = System.nanoTime();
+    buff.append(metrics.getName()).append(": holders=[");
+    boolean first = true;
+    for (Map.Entry<Thread, Hold> entry : holders.entrySet()) {
+      if (!first) {
+        buff.append(", ");
+      }
+      first = false;
+      buff.append(entry.getKey().getName())
+          .append(" (").append(NANOSECONDS.toMillis(now - entry.getValue().since)).append("ms)");
+    }
+    buff.append("], waiters=[");
+    first = true;
+    for (Thread waiter : waiters) {
+      if (!first) {
+        buff.append(", ");
+      }
+      first = false;
+      buff.append(waiter.getName());
+    }
+    buff.append(']');
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" + describe() + "}";
+  }
+}
@@ -12,16 +12,25 @@
  */
 package org.sonatype.goodies.common;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 
+import static java.time.temporal.ChronoField.NANO_OF_SECOND;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Helper for working with <a href="http://en.wikipedia.org/wiki/ISO_8601">ISO 8601<a/> dates.
  *
+ * Formatting uses the default time-zone.  Parsing accepts 0 to 9 fraction digits, offsets with or without minutes
+ * and ignores trailing text.  Backed by shared immutable {@link DateTimeFormatter}s, safe for concurrent use.
+ *
  * @since 1.0
  */
 public class Iso8601Date
@@ -29,22 +38,67 @@ public class Iso8601Date
   public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSXXX"; //NON-NLS
   //public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
 
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+  private static final DateTimeFormatter PARSER = new DateTimeFormatterBuilder()
+      .appendPattern("yyyy-MM-dd'T'HH:mm:ss") //NON-NLS
+      .appendFraction(NANO_OF_SECOND, 0, 9, true)
+      .parseLenient()
+      .appendOffset("+HH:MM", "Z") //NON-NLS
+      .toFormatter();
+
   /**
    * @since 1.5
    */
   private Iso8601Date() {}
 
-  private static DateFormat getFormat() {
-    return new SimpleDateFormat(PATTERN);
+  public static Date parse(final String value) throws ParseException {
+    return new Date(parseInstant(value).toEpochMilli());
   }
 
-  public static Date parse(final String value) throws ParseException {
+  /**
+   * @since 3.0.1
+   */
+  public static Instant parseInstant(final String value) throws ParseException {
     checkNotNull(value);
-    return getFormat().parse(value);
+    try {
+      return Instant.from(PARSER.parse(value, new ParsePosition(0)));
+    }
+    catch (DateTimeParseException e) {
+      ParseException failure = new ParseException(e.getMessage(), e.getErrorIndex());
+      failure.initCause(e);
+      throw failure;
+    }
   }
 
   public static String format(final Date date) {
     checkNotNull(date);
-    return getFormat().format(date);
+    return format(date.getTime());
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public static String format(final Instant instant) {
+    checkNotNull(instant);
+    return FORMATTER.format(instant.atZone(ZoneId.systemDefault()));
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public static String format(final long epochMillis) {
+    return format(Instant.ofEpochMilli(epochMillis));
+  }
+
+  /**
+   * Append formatted instant to given buffer.
+   *
+   * @since 3.0.1
+   */
+  public static void formatTo(final Instant instant, final StringBuilder buffer) {
+    checkNotNull(instant);
+    checkNotNull(buffer);
+    FORMATTER.formatTo(instant.atZone(ZoneId.systemDefault()), buffer);
   }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Accounting of elements skipped by {@link SafeIterator} and {@link SafeIterable}, with an optional failure limit.
+ *
+ * Instances are thread-safe and may be shared by parallel streams.
+ *
+ * @since 3.0.1
+ */
+public final class IterationFailures
+{
+  private final long limit;
+
+  private final AtomicLong count = new AtomicLong();
+
+  private final Map<Class<? extends Throwable>, LongAdder> types = new ConcurrentHashMap<>();
+
+  /**
+   * Unlimited failures.
+   */
+  public IterationFailures() {
+    this(Long.MAX_VALUE);
+  }
+
+  /**
+   * @param limit Number of failures at which iteration is aborted.
+   */
+  public IterationFailures(final long limit) {
+    checkArgument(limit > 0, "Limit must be positive");
+    this.limit = limit;
+  }
+
+  public long getLimit() {
+    return limit;
+  }
+
+  /**
+   * Number of skipped elements.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Snapshot of skipped element counts by exception type.
+   */
+  public Map<Class<? extends Throwable>, Long> getCountsByType() {
+    ImmutableMap.Builder<Class<? extends Throwable>, Long> builder = ImmutableMap.builder();
+    types.forEach((type, adder) -> builder.put(type, adder.sum()));
+    return builder.build();
+  }
+
+  /**
+   * Record a skipped element.
+   *
+   * @throws IllegalStateException when the limit has been reached; caused by the given failure.
+   */
+  void record(final Throwable failure) {
+    types.computeIfAbsent(failure.getClass(), type -> new LongAdder()).increment();
+    if (count.incrementAndGet() >= limit) {
+      throw new IllegalStateException("Iteration aborted; failure limit reached: " + limit, failure);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "count=" + count +
+        ", limit=" + limit +
+        ", types=" + getCountsByType() +
+        '}';
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.collect.MapMaker;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Per-key {@link ReadWriteLock}s, so work on one key does not block work on unrelated keys.
+ *
+ * {@link #striped(int) Striped} locks share a fixed set of locks by key hash; unrelated keys may contend if they hash
+ * to the same stripe.  {@link #weak() Weak} locks give each distinct key its own lock, retained only while in use.
+ *
+ * @param <K> Key type.
+ * @see Locks#read(KeyedLocks, Object)
+ * @see Locks#write(KeyedLocks, Object)
+ * @since 3.0.1
+ */
+public abstract class KeyedLocks<K>
+{
+  /**
+   * Returns lock for given key.  Equal keys always return the same lock.
+   */
+  public abstract ReadWriteLock get(K key);
+
+  /**
+   * Returns locked read-lock for given key.
+   *
+   * @see Locks#read(ReadWriteLock)
+   */
+  public Lock read(final K key) {
+    return Locks.read(get(key));
+  }
+
+  /**
+   * Returns locked write-lock for given key.
+   *
+   * @see Locks#write(ReadWriteLock)
+   */
+  public Lock write(final K key) {
+    return Locks.write(get(key));
+  }
+
+  public Locks.Handle acquireRead(final K key) {
+    return Locks.acquireRead(get(key));
+  }
+
+  public Locks.Handle acquireWrite(final K key) {
+    return Locks.acquireWrite(get(key));
+  }
+
+  /**
+   * Fixed number of locks shared by key hash.
+   *
+   * @param stripes Minimum number of stripes; rounded up to a power of two.
+   */
+  public static <K> KeyedLocks<K> striped(final int stripes) {
+    return new Striped<>(stripes);
+  }
+
+  /**
+   * Lock per distinct key, weakly referenced so unused locks may be collected.
+   */
+  public static <K> KeyedLocks<K> weak() {
+    return new Weak<>();
+  }
+
+  //
+  // Striped
+  //
+
+  private static final class Striped<K>
+      extends KeyedLocks<K>
+  {
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReadWriteLock[] stripes;
+
+    private final int mask;
+
+    private Striped(final int count) {
+      checkArgument(count > 0 && count <= MAX_STRIPES, "Stripes must be in range 1-%s: %s", MAX_STRIPES, count);
+      int size = Integer.highestOneBit(count - 1) << 1;
+      size = Math.max(1, size);
+      this.stripes = new ReadWriteLock[size];
+      this.mask = size - 1;
+      for (int i = 0; i < size; i++) {
+        stripes[i] = new ReentrantReadWriteLock();
+      }
+    }
+
+    @Override
+    public ReadWriteLock get(final K key) {
+      checkNotNull(key);
+      int hash = key.hashCode();
+      // spread high bits, as for HashMap
+      hash ^= hash >>> 16;
+      return stripes[hash & mask];
+    }
+  }
+
+  //
+  // Weak
+  //
+
+  private static final class Weak<K>
+      extends KeyedLocks<K>
+  {
+    private final ConcurrentMap<K, ReadWriteLock> locks = new MapMaker().weakValues().makeMap();
+
+    @Override
+    public ReadWriteLock get(final K key) {
+      checkNotNull(key);
+      ReadWriteLock lock = locks.get(key);
+      if (lock == null) {
+        lock = locks.computeIfAbsent(key, k -> new AnchoredReadWriteLock());
+      }
+      return lock;
+    }
+  }
+
+  /**
+   * Read-write lock whose locks and conditions strongly reference it; while any are reachable (ie. held or awaited)
+   * the lock can not be collected and replaced in a weak map.
+   */
+  private static final class AnchoredReadWriteLock
+      implements ReadWriteLock
+  {
+    private final ReentrantReadWriteLock delegate = new ReentrantReadWriteLock();
+
+    private final Lock readLock = new AnchoredLock(delegate.readLock());
+
+    private final Lock writeLock = new AnchoredLock(delegate.writeLock());
+
+    @Override
+    public Lock readLock() {
+      return readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+      return writeLock;
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+
+    private final class AnchoredLock
+        implements Lock
+    {
+      private final Lock lock;
+
+      private AnchoredLock(final Lock lock) {
+        this.lock = lock;
+      }
+
+      @Override
+      public void lock() {
+        lock.lock();
+      }
+
+      @Override
+      public void lockInterruptibly() throws InterruptedException {
+        lock.lockInterruptibly();
+      }
+
+      @Override
+      public boolean tryLock() {
+        return lock.tryLock();
+      }
+
+      @Override
+      public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException {
+        return lock.tryLock(time, unit);
+      }
+
+      @Override
+      public void unlock() {
+        lock.unlock();
+      }
+
+      @Override
+      public Condition newCondition() {
+        return new AnchoredCondition(lock.newCondition());
+      }
+
+      @Override
+      public String toString() {
+        return lock.toString();
+      }
+    }
+
+    private final class AnchoredCondition
+        implements Condition
+    {
+      private final Condition condition;
+
+      private AnchoredCondition(final Condition condition) {
+        this.condition = condition;
+      }
+
+      @Override
+      public void await() throws InterruptedException {
+        condition.await();
+      }
+
+      @Override
+      public void awaitUninterruptibly() {
+        condition.awaitUninterruptibly();
+      }
+
+      @Override
+      public long awaitNanos(final long nanosTimeout) throws InterruptedException {
+        return condition.awaitNanos(nanosTimeout);
+      }
+
+      @Override
+      public boolean await(final long time, final TimeUnit unit) throws InterruptedException {
+        return condition.await(time, unit);
+      }
+
+      @Override
+      public boolean awaitUntil(final Date deadline) throws InterruptedException {
+        return condition.awaitUntil(deadline);
+      }
+
+      @Override
+      public void signal() {
+        condition.signal();
+      }
+
+      @Override
+      public void signalAll() {
+        condition.signalAll();
+      }
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Acquisition and hold-time metrics for an {@link InstrumentedLock}.
+ *
+ * Wait times are recorded in a power-of-two histogram; bucket 0 counts waits under 1 microsecond and bucket
+ * {@code i} counts waits below {@link #bucketLimitNanos(int) 2^(i+10)} nanoseconds.  The last bucket is unbounded.
+ *
+ * @since 3.0.1
+ */
+public final class LockMetrics
+{
+  public static final int BUCKETS = 32;
+
+  private final String name;
+
+  private final LongAdder acquisitions = new LongAdder();
+
+  private final LongAdder contended = new LongAdder();
+
+  private final LongAdder timeouts = new LongAdder();
+
+  private final LongAdder waitNanos = new LongAdder();
+
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+
+  private final LongAdder holdNanos = new LongAdder();
+
+  private final AtomicLong maxHoldNanos = new AtomicLong();
+
+  private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+  public LockMetrics(final String name) {
+    this.name = checkNotNull(name);
+    for (int i = 0; i < BUCKETS; i++) {
+      histogram[i] = new LongAdder();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  //
+  // Recording
+  //
+
+  void acquired(final long waitNanos, final boolean wasContended) {
+    acquisitions.increment();
+    if (wasContended) {
+      contended.increment();
+    }
+    this.waitNanos.add(waitNanos);
+    maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    histogram[bucket(waitNanos)].increment();
+  }
+
+  void timedOut() {
+    timeouts.increment();
+  }
+
+  void released(final long holdNanos) {
+    this.holdNanos.add(holdNanos);
+    maxHoldNanos.accumulateAndGet(holdNanos, Math::max);
+  }
+
+  static int bucket(final long nanos) {
+    long micros = nanos >>> 10;
+    return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+  }
+
+  /**
+   * Exclusive upper limit of given histogram bucket, in nanoseconds.
+   */
+  public static long bucketLimitNanos(final int bucket) {
+    return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + 10);
+  }
+
+  //
+  // Accessors
+  //
+
+  public long getAcquisitions() {
+    return acquisitions.sum();
+  }
+
+  /**
+   * Number of acquisitions which could not be satisfied immediately.
+   */
+  public long getContended() {
+    return contended.sum();
+  }
+
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  public long getTotalWaitNanos() {
+    return waitNanos.sum();
+  }
+
+  public long getMaxWaitNanos() {
+    return maxWaitNanos.get();
+  }
+
+  public long getTotalHoldNanos() {
+    return holdNanos.sum();
+  }
+
+  public long getMaxHoldNanos() {
+    return maxHoldNanos.get();
+  }
+
+  /**
+   * Snapshot of wait-time histogram counts.
+   */
+  public long[] getWaitHistogram() {
+    long[] result = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      result[i] = histogram[i].sum();
+    }
+    return result;
+  }
+
+  public void reset() {
+    acquisitions.reset();
+    contended.reset();
+    timeouts.reset();
+    waitNanos.reset();
+    maxWaitNanos.set(0);
+    holdNanos.reset();
+    maxHoldNanos.set(0);
+    for (LongAdder bucket : histogram) {
+      bucket.reset();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "name='" + name + '\'' +
+        ", acquisitions=" + acquisitions +
+        ", contended=" + contended +
+        ", timeouts=" + timeouts +
+        ", maxWait=" + NANOSECONDS.toMillis(maxWaitNanos.get()) + "ms" +
+        ", maxHold=" + NANOSECONDS.toMillis(maxHoldNanos.get()) + "ms" +
+        '}';
+  }
+}
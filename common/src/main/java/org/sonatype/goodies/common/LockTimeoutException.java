@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+/**
+ * Thrown when a lock could not be obtained within its timeout.
+ *
+ * @since 3.0.1
+ */
+public class LockTimeoutException
+    extends RuntimeException
+{
+  private static final long serialVersionUID = 1L;
+
+  public LockTimeoutException(final String message) {
+    super(message);
+  }
+}
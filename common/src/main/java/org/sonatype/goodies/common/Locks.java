@@ -12,13 +12,25 @@
  */
 package org.sonatype.goodies.common;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Lock helpers.
@@ -27,20 +39,72 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class Locks
 {
+  private static final Logger log = Loggers.getLogger(Locks.class);
+
+  /**
+   * Default lock timeout; configurable via {@code org.sonatype.goodies.common.Locks.timeout} system property, as an
+   * ISO-8601 duration ({@code PT30S}) or a number of seconds.  Invalid values fall back to 60 seconds.
+   *
+   * @since 3.0.1
+   */
+  public static final Duration DEFAULT_TIMEOUT = defaultTimeout();
+
+  private static final Map<String, LockMetrics> metrics = new ConcurrentHashMap<>();
+
   private Locks() {
     // empty
   }
 
+  private static Duration defaultTimeout() {
+    SystemProperty property = new SystemProperty(Locks.class, "timeout");
+    return parseTimeout(property.name(), property.get());
+  }
+
+  /**
+   * Parse timeout property value; never throws, invalid values are logged and fall back to 60 seconds.
+   */
+  @VisibleForTesting
+  static Duration parseTimeout(final String name, @Nullable final String value) {
+    Duration fallback = Duration.ofSeconds(60);
+    if (value == null) {
+      return fallback;
+    }
+    try {
+      Duration timeout = value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+      if (!timeout.isNegative()) {
+        return timeout;
+      }
+    }
+    catch (RuntimeException e) {
+      // fall through
+    }
+    log.warn("Invalid {}: {}; using: {}", name, value, fallback);
+    return fallback;
+  }
+
   /**
    * Returns locked lock.
    *
-   * Uses {@link Lock#tryLock} with timeout of 60 seconds to avoid potential deadlocks.
+   * Uses {@link Lock#tryLock} with {@link #DEFAULT_TIMEOUT} (60 seconds) to avoid potential deadlocks.
+   *
+   * @throws LockTimeoutException
    */
   public static Lock lock(final Lock lock) {
+    return lock(lock, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Returns locked lock, waiting at most given timeout.
+   *
+   * @throws LockTimeoutException
+   * @since 3.0.1
+   */
+  public static Lock lock(final Lock lock, final Duration timeout) {
     checkNotNull(lock);
+    checkNotNull(timeout);
     try {
-      if (!lock.tryLock(60, TimeUnit.SECONDS)) {
-        throw new RuntimeException("Failed to obtain lock after 60 seconds");
+      if (!lock.tryLock(NANOSECONDS.convert(timeout), NANOSECONDS)) {
+        throw new LockTimeoutException("Failed to obtain lock after " + timeout + ": " + describe(lock));
       }
     }
     catch (InterruptedException e) {
@@ -65,8 +129,298 @@ public class Locks
     return lock(readWriteLock.writeLock());
   }
 
+  /**
+   * Returns locked read-lock for given key.
+   *
+   * @since 3.0.1
+   */
+  public static <K> Lock read(final KeyedLocks<K> locks, final K key) {
+    checkNotNull(locks);
+    return read(locks.get(key));
+  }
+
+  /**
+   * Returns locked write-lock for given key.
+   *
+   * @since 3.0.1
+   */
+  public static <K> Lock write(final KeyedLocks<K> locks, final K key) {
+    checkNotNull(locks);
+    return write(locks.get(key));
+  }
+
+  private static String describe(final Lock lock) {
+    if (lock instanceof InstrumentedLock) {
+      return ((InstrumentedLock) lock).describe();
+    }
+    // jdk locks include owner in toString()
+    return lock.toString();
+  }
+
   private static RuntimeException propagate(Throwable throwable) {
     Throwables.throwIfUnchecked(throwable);
     throw new RuntimeException(throwable);
   }
+
+  //
+  // Handles
+  //
+
+  /**
+   * Locked lock which is unlocked on {@link #close()}; for use with try-with-resources.
+   *
+   * @since 3.0.1
+   */
+  public static final class Handle
+      implements AutoCloseable
+  {
+    private final Lock lock;
+
+    private boolean closed;
+
+    private Handle(final Lock lock) {
+      this.lock = lock;
+    }
+
+    public Lock getLock() {
+      return lock;
+    }
+
+    /**
+     * Unlock; subsequent calls have no effect.
+     */
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * @see #lock(Lock)
+   * @since 3.0.1
+   */
+  public static Handle acquire(final Lock lock) {
+    return new Handle(lock(lock));
+  }
+
+  /**
+   * @see #lock(Lock, Duration)
+   * @since 3.0.1
+   */
+  public static Handle acquire(final Lock lock, final Duration timeout) {
+    return new Handle(lock(lock, timeout));
+  }
+
+  /**
+   * @see #read(ReadWriteLock)
+   * @since 3.0.1
+   */
+  public static Handle acquireRead(final ReadWriteLock readWriteLock) {
+    return new Handle(read(readWriteLock));
+  }
+
+  /**
+   * @see #write(ReadWriteLock)
+   * @since 3.0.1
+   */
+  public static Handle acquireWrite(final ReadWriteLock readWriteLock) {
+    return new Handle(write(readWriteLock));
+  }
+
+  //
+  // Stamped
+  //
+
+  /**
+   * Read using an optimistic stamp, retrying under a full read-lock only if a write intervened.
+   *
+   * The reader may observe inconsistent state during the optimistic attempt; it must not have side effects, and
+   * exceptions it throws are ignored if the attempt is invalidated.  Intended for small read-mostly sections.
+   *
+   * @throws LockTimeoutException
+   * @since 3.0.1
+   */
+  public static <T> T optimisticRead(final StampedLock lock, final Supplier<T> reader) {
+    checkNotNull(lock);
+    checkNotNull(reader);
+
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        T value = reader.get();
+        if (lock.validate(stamp)) {
+          return value;
+        }
+      }
+      catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+        // else inconsistent read; retry locked
+      }
+    }
+
+    stamp = readStamp(lock);
+    try {
+      return reader.get();
+    }
+    finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Read, and if the value read requires it, write under the write-lock.
+   *
+   * Tries an optimistic read first, then a read-lock which is converted to the write-lock when possible.  If
+   * conversion fails the read-lock is released, the write-lock obtained, and the value re-read before deciding.
+   *
+   * @param reader      Reads current value.
+   * @param needsWrite  Decides if the value read requires a write.
+   * @param writer      Writes under the write-lock, returning the new value.
+   * @throws LockTimeoutException
+   * @since 3.0.1
+   */
+  public static <T> T readOrWrite(final StampedLock lock,
+                                  final Supplier<T> reader,
+                                  final Predicate<? super T> needsWrite,
+                                  final Supplier<T> writer)
+  {
+    checkNotNull(lock);
+    checkNotNull(reader);
+    checkNotNull(needsWrite);
+    checkNotNull(writer);
+
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0) {
+      try {
+        T value = reader.get();
+        if (lock.validate(stamp) && !needsWrite.test(value)) {
+          return value;
+        }
+      }
+      catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+
+    stamp = readStamp(lock);
+    try {
+      while (true) {
+        T value = reader.get();
+        if (!needsWrite.test(value)) {
+          return value;
+        }
+        long writeStamp = lock.tryConvertToWriteLock(stamp);
+        if (writeStamp != 0) {
+          stamp = writeStamp;
+          return writer.get();
+        }
+        lock.unlockRead(stamp);
+        stamp = 0; // nothing to release if write-lock times out
+        stamp = writeStamp(lock);
+      }
+    }
+    finally {
+      if (stamp != 0) {
+        lock.unlock(stamp);
+      }
+    }
+  }
+
+  private static long readStamp(final StampedLock lock) {
+    try {
+      long stamp = lock.tryReadLock(NANOSECONDS.convert(DEFAULT_TIMEOUT), NANOSECONDS);
+      if (stamp == 0) {
+        throw new LockTimeoutException("Failed to obtain read lock after " + DEFAULT_TIMEOUT + ": " + lock);
+      }
+      return stamp;
+    }
+    catch (InterruptedException e) {
+      throw propagate(e);
+    }
+  }
+
+  private static long writeStamp(final StampedLock lock) {
+    try {
+      long stamp = lock.tryWriteLock(NANOSECONDS.convert(DEFAULT_TIMEOUT), NANOSECONDS);
+      if (stamp == 0) {
+        throw new LockTimeoutException("Failed to obtain write lock after " + DEFAULT_TIMEOUT + ": " + lock);
+      }
+      return stamp;
+    }
+    catch (InterruptedException e) {
+      throw propagate(e);
+    }
+  }
+
+  //
+  // Instrumentation
+  //
+
+  /**
+   * Wrap lock to record metrics under given name.  Locks instrumented with the same name share metrics.
+   *
+   * @since 3.0.1
+   */
+  public static InstrumentedLock instrument(final String name, final Lock lock) {
+    checkNotNull(name);
+    return new InstrumentedLock(lock, metrics.computeIfAbsent(name, LockMetrics::new));
+  }
+
+  /**
+   * Wrap read-write lock to record metrics under {@code name.read} and {@code name.write}.
+   *
+   * @since 3.0.1
+   */
+  public static ReadWriteLock instrument(final String name, final ReadWriteLock readWriteLock) {
+    checkNotNull(name);
+    checkNotNull(readWriteLock);
+    InstrumentedLock read = instrument(name + ".read", readWriteLock.readLock());
+    InstrumentedLock write = instrument(name + ".write", readWriteLock.writeLock());
+    read.setPeer(write);
+    write.setPeer(read);
+    return new ReadWriteLock()
+    {
+      @Override
+      public Lock readLock() {
+        return read;
+      }
+
+      @Override
+      public Lock writeLock() {
+        return write;
+      }
+
+      @Override
+      public String toString() {
+        return readWriteLock.toString();
+      }
+    };
+  }
+
+  /**
+   * Returns metrics for given lock name, if any locks have been instrumented with the name.
+   *
+   * @since 3.0.1
+   */
+  @Nullable
+  public static LockMetrics metrics(final String name) {
+    checkNotNull(name);
+    return metrics.get(name);
+  }
+
+  /**
+   * Returns metrics for all instrumented lock names.
+   *
+   * @since 3.0.1
+   */
+  public static Collection<LockMetrics> metrics() {
+    return ImmutableList.copyOf(metrics.values());
+  }
 }
@@ -25,12 +25,49 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class Loggers
 {
   /**
-   * Class-name token which indicates class is synthetic generated by Guice AOP.
+   * Class-name tokens which indicate class is synthetic, generated by an AOP or proxy platform.
+   *
+   * Covers Guice and CGLIB ({@code $$EnhancerBy...$$}), Spring 6 CGLIB ({@code $$SpringCGLIB$$}), ByteBuddy and
+   * Hibernate proxies, and javassist.
    */
-  private static final String GUICE_ENHANCED = "$$EnhancerByGuice$$";
+  private static final String[] ENHANCED_TOKENS = {
+      "$$EnhancerBy",
+      "$$SpringCGLIB$$",
+      "$ByteBuddy$",
+      "$HibernateProxy$",
+      "_$$_javassist"
+  };
+
+  /**
+   * Resolved loggers; computed once per class.
+   */
+  private static final ClassValue<Logger> LOGGERS = new ClassValue<Logger>()
+  {
+    @Override
+    protected Logger computeValue(final Class<?> type) {
+      return LoggerFactory.getLogger(unenhanced(type));
+    }
+  };
 
   private static boolean isEnhancedSubclass(final Class<?> type) {
-    return type.getName().contains(GUICE_ENHANCED);
+    String name = type.getName();
+    for (String token : ENHANCED_TOKENS) {
+      if (name.contains(token)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the first non-synthetic class in the hierarchy of given type.
+   */
+  private static Class<?> unenhanced(final Class<?> type) {
+    Class<?> result = type;
+    while (result.getSuperclass() != null && isEnhancedSubclass(result)) {
+      result = result.getSuperclass();
+    }
+    return result;
   }
 
   /**
@@ -38,10 +75,7 @@ public final class Loggers
    */
   public static Logger getLogger(final Class<?> type) {
     checkNotNull(type);
-    if (isEnhancedSubclass(type)) {
-      return LoggerFactory.getLogger(type.getSuperclass());
-    }
-    return LoggerFactory.getLogger(type);
+    return LOGGERS.get(type);
   }
 
   public static Logger getLogger(final Object obj) {
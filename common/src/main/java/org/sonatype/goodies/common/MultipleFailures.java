@@ -59,15 +59,28 @@ public class MultipleFailures
   public class MultipleFailuresException
     extends Exception
   {
-    private MultipleFailuresException(@Nullable final String message) {
+    private final List<Throwable> failures;
+
+    private final long count;
+
+    private final long dropped;
+
+    private MultipleFailuresException(@Nullable final String message,
+                                      final List<Throwable> failures,
+                                      final long count,
+                                      final long dropped)
+    {
       super(message);
+      this.failures = ImmutableList.copyOf(failures);
+      this.count = count;
+      this.dropped = dropped;
       for (Throwable failure : failures) {
         addSuppressed(failure);
       }
     }
 
     public List<Throwable> getFailures() {
-      return ImmutableList.copyOf(failures);
+      return failures;
     }
 
     @Override
@@ -79,8 +92,11 @@ public class MultipleFailures
         buff.append(message).append("; ");
       }
 
-      int size = failures.size();
-      buff.append(size).append(" ").append(size == 1 ? "failure" : "failures");
+      buff.append(count).append(" ").append(count == 1 ? "failure" : "failures");
+      if (count != failures.size()) {
+        // without drops the difference can only be de-duplication
+        buff.append(" (").append(failures.size()).append(dropped == 0 ? " distinct)" : " retained)");
+      }
 
       return buff.toString();
     }
@@ -90,12 +106,31 @@ public class MultipleFailures
    * Maybe throw {@link MultipleFailuresException} if there are any failures with optional message.
    */
   public void maybePropagate(@Nullable final String message) throws MultipleFailuresException {
-    if (!failures.isEmpty()) {
-      log.trace("Propagating: {}", failures);
-      throw new MultipleFailuresException(message);
+    List<Throwable> snapshot = getFailures();
+    if (!snapshot.isEmpty()) {
+      log.trace("Propagating: {}", snapshot);
+      throw new MultipleFailuresException(message, snapshot, getOccurrences(), getDropped());
     }
   }
 
+  /**
+   * Total number of failures added, including any not retained in {@link #getFailures()}.
+   *
+   * @since 3.0.1
+   */
+  public long getOccurrences() {
+    return failures.size();
+  }
+
+  /**
+   * Number of failures not retained in {@link #getFailures()} due to a limit.
+   *
+   * @since 3.0.1
+   */
+  public long getDropped() {
+    return 0;
+  }
+
   /**
    * Maybe throw {@link MultipleFailuresException} if there are any failures.
    */
@@ -80,7 +80,7 @@ public class OID
     if (this == NULL) {
       return "null";
     }
-    return String.format("%s%s%x", type, SEPARATOR, hash);
+    return type + SEPARATOR + Integer.toHexString(hash);
   }
 
   public static OID get(final Object obj) {
@@ -112,21 +112,40 @@ public class OID
     return get(obj).toString();
   }
 
+  /**
+   * Find item with matching rendered OID.
+   *
+   * For repeated lookups against large collections see {@link OidIndex}.
+   */
   public static <T> T find(final Collection<T> items, final String id) {
     assert items != null;
     assert id != null;
 
+    OID oid;
+    try {
+      oid = parse(id);
+    }
+    catch (IllegalArgumentException e) {
+      return null;
+    }
+    // only match the canonical rendering, as comparing rendered strings did
+    if (!oid.toString().equals(id)) {
+      return null;
+    }
+    return find(items, oid);
+  }
+
+  public static <T> T find(final Collection<T> items, final OID id) {
+    assert items != null;
+    assert id != null;
+
+    // compare identity-hash first; it is cheap and almost always decides
     for (T item : items) {
-      if (OID.render(item).equals(id)) {
+      if (item != null && System.identityHashCode(item) == id.hash && item.getClass().getName().equals(id.type)) {
         return item;
       }
     }
 
     return null;
   }
-
-  public static <T> T find(final Collection<T> items, final OID id) {
-    assert id != null;
-    return find(items, id.toString());
-  }
 }
\ No newline at end of file
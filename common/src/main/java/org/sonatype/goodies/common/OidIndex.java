@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Registry resolving {@link OID}s to objects in constant time.
+ *
+ * Objects are weakly referenced and compared by identity; entries for collected objects are expunged as the index
+ * is used.  Distinct objects with the same type and identity-hash share an OID; lookup returns the first registered.
+ *
+ * @param <T> Element type.
+ * @since 3.0.1
+ */
+public final class OidIndex<T>
+{
+  private static final class Ref<T>
+      extends WeakReference<T>
+  {
+    private final OID oid;
+
+    private Ref(final T referent, final OID oid, final ReferenceQueue<? super T> queue) {
+      super(referent, queue);
+      this.oid = oid;
+    }
+  }
+
+  private final ConcurrentMap<OID, List<Ref<T>>> index = new ConcurrentHashMap<>();
+
+  private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+  /**
+   * Register item, returning its OID.  Registering an item more than once has no effect.
+   */
+  public OID register(final T item) {
+    checkNotNull(item);
+    expunge();
+    OID oid = OID.get(item);
+    index.compute(oid, (key, refs) -> {
+      if (refs == null) {
+        return ImmutableList.of(new Ref<>(item, key, queue));
+      }
+      for (Ref<T> ref : refs) {
+        if (ref.get() == item) {
+          return refs;
+        }
+      }
+      return ImmutableList.<Ref<T>>builder().addAll(refs).add(new Ref<>(item, key, queue)).build();
+    });
+    return oid;
+  }
+
+  /**
+   * Remove item from index.
+   *
+   * @return True if the item was registered.
+   */
+  public boolean unregister(final T item) {
+    checkNotNull(item);
+    expunge();
+    boolean[] removed = new boolean[1];
+    index.computeIfPresent(OID.get(item), (key, refs) -> without(refs, ref -> {
+      if (ref.get() == item) {
+        removed[0] = true;
+        return true;
+      }
+      return false;
+    }));
+    return removed[0];
+  }
+
+  @Nullable
+  public T find(final OID oid) {
+    checkNotNull(oid);
+    expunge();
+    List<Ref<T>> refs = index.get(oid);
+    if (refs != null) {
+      for (Ref<T> ref : refs) {
+        T item = ref.get();
+        if (item != null) {
+          return item;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Find by rendered OID; returns {@code null} if the id is not a valid OID.
+   */
+  @Nullable
+  public T find(final String id) {
+    checkNotNull(id);
+    OID oid;
+    try {
+      oid = OID.parse(id);
+    }
+    catch (IllegalArgumentException e) {
+      return null;
+    }
+    return find(oid);
+  }
+
+  /**
+   * Number of distinct OIDs registered.
+   */
+  public int size() {
+    expunge();
+    return index.size();
+  }
+
+  public void clear() {
+    index.clear();
+    expunge();
+  }
+
+  /**
+   * Remove entries for collected items.
+   */
+  @SuppressWarnings("unchecked")
+  private void expunge() {
+    Reference<? extends T> reference;
+    while ((reference = queue.poll()) != null) {
+      Ref<T> expired = (Ref<T>) reference;
+      index.computeIfPresent(expired.oid, (key, refs) -> without(refs, ref -> ref == expired));
+    }
+  }
+
+  @Nullable
+  private static <T> List<Ref<T>> without(final List<Ref<T>> refs, final Predicate<Ref<T>> filter) {
+    ImmutableList.Builder<Ref<T>> builder = ImmutableList.builder();
+    boolean changed = false;
+    for (Ref<T> ref : refs) {
+      if (filter.test(ref)) {
+        changed = true;
+      }
+      else {
+        builder.add(ref);
+      }
+    }
+    if (!changed) {
+      return refs;
+    }
+    List<Ref<T>> result = builder.build();
+    return result.isEmpty() ? null : result;
+  }
+}
@@ -12,7 +12,16 @@
  */
 package org.sonatype.goodies.common;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import javax.annotation.Nullable;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
 
 /**
  * String-based {@link PrintWriter} backed by {@link StringBuilderWriter}.
@@ -22,12 +31,80 @@ import java.io.PrintWriter;
 public class PrintBuffer
     extends PrintWriter
 {
+  private static final Logger log = Loggers.getLogger(PrintBuffer.class);
+
+  /**
+   * Maximum capacity (in chars) retained by a pooled buffer between uses; larger buffers are released on close.
+   *
+   * @since 3.0.1
+   */
+  public static final int MAX_RETAINED_CAPACITY = maxRetainedCapacity();
+
+  private static final ThreadLocal<PrintBuffer> POOL = ThreadLocal.withInitial(() -> new PrintBuffer(true));
+
+  private final boolean pooled;
+
+  private boolean inUse;
+
+  private static int maxRetainedCapacity() {
+    SystemProperty property = new SystemProperty(PrintBuffer.class, "maxRetainedCapacity");
+    return parseCapacity(property.name(), property.get());
+  }
+
+  /**
+   * Parse capacity property value; never throws, invalid values are logged and fall back to 64k chars.
+   */
+  @VisibleForTesting
+  static int parseCapacity(final String name, @Nullable final String value) {
+    int fallback = 64 * 1024;
+    if (value == null) {
+      return fallback;
+    }
+    try {
+      int capacity = Integer.parseInt(value.trim());
+      if (capacity >= 0) {
+        return capacity;
+      }
+    }
+    catch (NumberFormatException e) {
+      // fall through
+    }
+    log.warn("Invalid {}: {}; using: {}", name, value, fallback);
+    return fallback;
+  }
+
   public PrintBuffer() {
+    this(false);
+  }
+
+  private PrintBuffer(final boolean pooled) {
     super(new StringBuilderWriter(), true);
+    this.pooled = pooled;
+  }
+
+  /**
+   * Acquire the reusable buffer for the current thread.
+   *
+   * The buffer must be {@link #close() closed} to return it for reuse; contents are discarded on close.
+   * If the current thread's buffer is already in use a new, unpooled, buffer is returned.
+   *
+   * @since 3.0.1
+   */
+  public static PrintBuffer acquire() {
+    PrintBuffer buffer = POOL.get();
+    if (buffer.inUse) {
+      return new PrintBuffer();
+    }
+    buffer.inUse = true;
+    return buffer;
+  }
+
+  private StringBuilderWriter writer() {
+    return (StringBuilderWriter) out;
   }
 
   public StringBuilder getBuffer() {
-    return ((StringBuilderWriter) out).getBuffer();
+    return writer().getBuffer();
   }
 
   /**
@@ -43,8 +120,43 @@ public class PrintBuffer
     getBuffer().setLength(0);
   }
 
+  /**
+   * Copy buffer contents to given writer, without building an intermediate {@link String}.
+   *
+   * @since 3.0.1
+   */
+  public void writeTo(final Writer writer) throws IOException {
+    flush();
+    writer().writeTo(writer);
+  }
+
+  /**
+   * Encode buffer contents to given stream.  The stream is flushed but not closed.
+   *
+   * @since 3.0.1
+   */
+  public void writeTo(final OutputStream stream, final Charset charset) throws IOException {
+    flush();
+    writer().writeTo(stream, charset);
+  }
+
+  /**
+   * Pooled buffers are reset, releasing storage beyond {@link #MAX_RETAINED_CAPACITY}, and returned for reuse; others
+   * are closed.
+   */
+  @Override
+  public void close() {
+    if (pooled) {
+      writer().reset(MAX_RETAINED_CAPACITY);
+      inUse = false;
+    }
+    else {
+      super.close();
+    }
+  }
+
   @Override
   public String toString() {
     return getBuffer().toString();
   }
-}
\ No newline at end of file
+}
@@ -12,13 +12,11 @@
  */
 package org.sonatype.goodies.common;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -54,14 +52,12 @@ public class Properties2
     }
   }
 
+  /**
+   * Load properties; file-based URLs are served from {@link PropertiesCache} while unchanged.
+   */
   public static Properties load(final URL url) throws IOException {
     checkNotNull(url);
-
-    Properties result = new Properties();
-    try (Reader reader = new BufferedReader(new InputStreamReader(url.openStream()))) {
-      result.load(reader);
-    }
-    return result;
+    return PropertiesCache.load(url, Charset.defaultCharset());
   }
 
   /**
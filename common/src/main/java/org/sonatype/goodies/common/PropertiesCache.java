@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Properties;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Shared, bounded cache of parsed properties resources.
+ *
+ * Only {@code file:} and {@code jar:file:} URLs are cached; entries are validated against the last-modified time, size
+ * and file key (ie. inode) of the underlying file on each load, so changed and replaced files are re-read.  Other URLs
+ * are always read.
+ *
+ * A file rewritten in place to the same size within the file-system's last-modified granularity (one or two seconds
+ * on some file-systems) can not be detected and may be served stale; replace files by moving a new file into place,
+ * as {@link FileReplacer} does, or {@link #invalidate} after writing.
+ *
+ * Callers always receive a new {@link Properties} instance.
+ *
+ * @since 3.0.1
+ */
+public final class PropertiesCache
+{
+  private static final int MAX_ENTRIES = 256;
+
+  private static final Cache<String, Entry> cache = CacheBuilder.newBuilder()
+      .maximumSize(MAX_ENTRIES)
+      .build();
+
+  private PropertiesCache() {
+    // empty
+  }
+
+  /**
+   * Last-modified, size and file key of a file; entries are stale when this changes.
+   */
+  private static final class Version
+  {
+    private final long modified;
+
+    private final long size;
+
+    @Nullable
+    private final Object fileKey;
+
+    private Version(final long modified, final long size, @Nullable final Object fileKey) {
+      this.modified = modified;
+      this.size = size;
+      this.fileKey = fileKey;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Version)) {
+        return false;
+      }
+      Version that = (Version) obj;
+      return modified == that.modified && size == that.size && Objects.equal(fileKey, that.fileKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(modified, size, fileKey);
+    }
+  }
+
+  private static final class Entry
+  {
+    private final Properties properties;
+
+    private final Version version;
+
+    private Entry(final Properties properties, final Version version) {
+      this.properties = properties;
+      this.version = version;
+    }
+  }
+
+  /**
+   * Load properties from given URL, decoding with given charset.
+   */
+  public static Properties load(final URL url, final Charset charset) throws IOException {
+    Properties result = new Properties();
+    loadInto(url, charset, result);
+    return result;
+  }
+
+  /**
+   * Load properties from given URL, decoding with given charset, into target.
+   */
+  static void loadInto(final URL url, final Charset charset, final Properties target) throws IOException {
+    checkNotNull(url);
+    checkNotNull(charset);
+    checkNotNull(target);
+
+    Path path = localPath(url);
+    if (path == null) {
+      read(url, charset, target);
+      return;
+    }
+
+    String key = charset.name() + ":" + url.toExternalForm();
+    Version version = version(path);
+    Entry entry = cache.getIfPresent(key);
+    if (entry == null || !entry.version.equals(version)) {
+      // version is read before content; a concurrent change leaves a stale version, so is re-read next time
+      Properties properties = new Properties();
+      read(url, charset, properties);
+      entry = new Entry(properties, version);
+      cache.put(key, entry);
+    }
+    target.putAll(entry.properties);
+  }
+
+  /**
+   * Discard cached entries for given URL.
+   */
+  public static void invalidate(final URL url) {
+    checkNotNull(url);
+    String suffix = ":" + url.toExternalForm();
+    cache.asMap().keySet().removeIf(key -> key.endsWith(suffix));
+  }
+
+  public static void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  private static void read(final URL url, final Charset charset, final Properties target) throws IOException {
+    try (Reader reader = new BufferedReader(new InputStreamReader(url.openStream(), charset))) {
+      target.load(reader);
+    }
+  }
+
+  private static Version version(final Path path) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    return new Version(attributes.lastModifiedTime().to(NANOSECONDS), attributes.size(), attributes.fileKey());
+  }
+
+  /**
+   * Returns local file containing resource, or {@code null} if resource is not backed by a local file.
+   */
+  @Nullable
+  static Path localPath(final URL url) {
+    try {
+      switch (url.getProtocol()) {
+        case "file":
+          return Paths.get(url.toURI());
+        case "jar": {
+          String spec = url.getPath();
+          int separator = spec.indexOf("!/");
+          if (separator > 0 && spec.startsWith("file:")) {
+            return Paths.get(URI.create(spec.substring(0, separator)));
+          }
+          return null;
+        }
+        default:
+          return null;
+      }
+    }
+    catch (URISyntaxException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -13,9 +13,11 @@
 package org.sonatype.goodies.common;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -26,6 +28,17 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class PropertiesLoader
 {
+  /**
+   * Resolved resource URLs by owner; tied to owner lifetime so class-loaders are not retained.
+   */
+  private static final ClassValue<ConcurrentMap<String, URL>> resources = new ClassValue<ConcurrentMap<String, URL>>()
+  {
+    @Override
+    protected ConcurrentMap<String, URL> computeValue(final Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   private final Properties props = new Properties();
 
   private final Class<?> owner;
@@ -49,15 +62,13 @@ public class PropertiesLoader
     return resourceName;
   }
 
+  /**
+   * Load properties resource; parsed content is shared via {@link PropertiesCache}.
+   */
   public PropertiesLoader load() {
     try {
-      InputStream input = getResource().openStream();
-      try {
-        props.load(input);
-      }
-      finally {
-        input.close();
-      }
+      // same decoding as Properties.load(InputStream)
+      PropertiesCache.loadInto(getResource(), StandardCharsets.ISO_8859_1, props);
     }
     catch (IOException e) {
       throw new Error("Failed to load properties", e);
@@ -67,7 +78,7 @@ public class PropertiesLoader
 
   public URL getResource() {
     String name = getResourceName();
-    URL url = owner.getResource(name);
+    URL url = resources.get(owner).computeIfAbsent(name, owner::getResource);
     if (url == null) {
       throw new Error("Unable to load resource: " + name);
     }
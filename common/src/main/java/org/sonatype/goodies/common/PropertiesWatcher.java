@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches properties files, reloading them through {@link PropertiesCache} when changed and notifying listeners.
+ *
+ * Uses a {@link WatchService} serviced by a single daemon thread; listeners are invoked on that thread, each with its
+ * own copy, and only when the loaded properties differ from those last delivered.
+ *
+ * @since 3.0.1
+ */
+public final class PropertiesWatcher
+    implements Closeable
+{
+  private static final Logger log = Loggers.getLogger(PropertiesWatcher.class);
+
+  /**
+   * Receives reloaded properties.
+   */
+  public interface Listener
+  {
+    void changed(File file, Properties properties);
+  }
+
+  private static final class Watched
+  {
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Properties current;
+
+    private Watched(final Properties current) {
+      this.current = current;
+    }
+  }
+
+  private final WatchService watchService;
+
+  private final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+
+  private final Map<Path, Watched> files = new ConcurrentHashMap<>();
+
+  private final Thread thread;
+
+  private volatile boolean closed;
+
+  public PropertiesWatcher() throws IOException {
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.thread = new Thread(this::run, getClass().getSimpleName());
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Watch given properties file, returning its current properties.
+   */
+  public synchronized Properties watch(final File file, final Listener listener) throws IOException {
+    checkNotNull(file);
+    checkNotNull(listener);
+    checkState(!closed, "Closed");
+
+    Path path = file.toPath().toAbsolutePath().normalize();
+    Properties properties = Properties2.load(path.toFile());
+    Path directory = path.getParent();
+    if (!directories.containsKey(directory)) {
+      directories.put(directory, directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY));
+    }
+    files.computeIfAbsent(path, p -> new Watched(properties)).listeners.add(listener);
+    log.debug("Watching: {}", path);
+    return properties;
+  }
+
+  /**
+   * Stop notifying given listener; the file, and its directory, are no longer watched once they have no listeners.
+   */
+  public synchronized void unwatch(final File file, final Listener listener) {
+    checkNotNull(file);
+    checkNotNull(listener);
+    Path path = file.toPath().toAbsolutePath().normalize();
+    Watched watched = files.get(path);
+    if (watched == null || !watched.listeners.remove(listener) || !watched.listeners.isEmpty()) {
+      return;
+    }
+    files.remove(path);
+    log.debug("Unwatched: {}", path);
+
+    Path directory = path.getParent();
+    if (files.keySet().stream().noneMatch(p -> directory.equals(p.getParent()))) {
+      WatchKey key = directories.remove(directory);
+      if (key != null) {
+        key.cancel();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int getWatchedDirectoryCount() {
+    return directories.size();
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    watchService.close();
+  }
+
+  private void run() {
+    while (!closed) {
+      WatchKey key;
+      try {
+        key = watchService.take();
+      }
+      catch (ClosedWatchServiceException e) {
+        break;
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+
+      Path directory = (Path) key.watchable();
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          // events lost; check everything in this directory
+          files.keySet().stream().filter(path -> directory.equals(path.getParent())).forEach(this::reload);
+        }
+        else {
+          reload(directory.resolve((Path) event.context()));
+        }
+      }
+      key.reset();
+    }
+    log.debug("Stopped");
+  }
+
+  private void reload(final Path path) {
+    Watched watched = files.get(path);
+    if (watched == null) {
+      return;
+    }
+    Properties properties;
+    try {
+      // change may not be visible in file last-modified/size
+      PropertiesCache.invalidate(path.toUri().toURL());
+      properties = Properties2.load(path.toFile());
+    }
+    catch (IOException e) {
+      // may be mid-replace; a subsequent event will follow
+      log.debug("Failed to reload: {}", path, e);
+      return;
+    }
+    if (properties.equals(watched.current)) {
+      return;
+    }
+    watched.current = properties;
+    log.debug("Reloaded: {}", path);
+    for (Listener listener : watched.listeners) {
+      try {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        listener.changed(path.toFile(), copy);
+      }
+      catch (Exception e) {
+        log.warn("Listener failed: {}", listener, e);
+      }
+    }
+  }
+}
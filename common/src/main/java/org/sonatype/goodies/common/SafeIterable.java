@@ -13,12 +13,21 @@
 package org.sonatype.goodies.common;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Exception-safe {@link Iterable} wrapper.
  *
+ * Elements which fail to be produced by the delegate are skipped, and when configured, recorded in
+ * {@link IterationFailures}.
+ *
  * @param <T> Element type.
  * @since 1.5
  */
@@ -27,15 +36,66 @@ public final class SafeIterable<T>
 {
   private final Iterable<T> delegate;
 
+  @Nullable
+  private final IterationFailures failures;
+
   public SafeIterable(final Iterable<T> delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public SafeIterable(final Iterable<T> delegate, @Nullable final IterationFailures failures) {
     this.delegate = checkNotNull(delegate);
+    this.failures = failures;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Nullable
+  public IterationFailures getFailures() {
+    return failures;
   }
 
   public Iterator<T> iterator() {
-    return SafeIterator.of(delegate);
+    return new SafeIterator<>(delegate.iterator(), failures);
+  }
+
+  /**
+   * Splits in batches pulled through {@link SafeIterator}, so a failure never loses the rest of a batch.  The
+   * delegate's own spliterator is not used, as splitting it may pull elements without protection.
+   *
+   * @since 3.0.1
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return Spliterators.spliteratorUnknownSize(iterator(), 0);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public Stream<T> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
   }
 
   public static <T> SafeIterable<T> of(final Iterable<T> iterable) {
     return new SafeIterable<T>(iterable);
   }
-}
\ No newline at end of file
+
+  /**
+   * @since 3.0.1
+   */
+  public static <T> SafeIterable<T> of(final Iterable<T> iterable, final IterationFailures failures) {
+    return new SafeIterable<T>(iterable, checkNotNull(failures));
+  }
+}
@@ -15,6 +15,8 @@ package org.sonatype.goodies.common;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -32,22 +34,41 @@ public final class SafeIterator<T>
 
   private final Iterator<T> delegate;
 
+  @Nullable
+  private final IterationFailures failures;
+
   private T next;
 
+  private boolean ready;
+
   public SafeIterator(final Iterator<T> delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public SafeIterator(final Iterator<T> delegate, @Nullable final IterationFailures failures) {
     this.delegate = checkNotNull(delegate);
+    this.failures = failures;
   }
 
   public boolean hasNext() {
+    if (ready) {
+      return true;
+    }
     while (delegate.hasNext()) {
       try {
         next = delegate.next();
+        ready = true;
         return true;
       }
       catch (final Exception e) {
         // skip bad element
         log.trace("Skipping bad element", e);
-        continue;
+        if (failures != null) {
+          failures.record(e);
+        }
       }
     }
     return false;
@@ -55,7 +76,10 @@ public final class SafeIterator<T>
 
   public T next() {
     if (hasNext()) {
-      return next;
+      T result = next;
+      next = null;
+      ready = false;
+      return result;
     }
     throw new NoSuchElementException();
   }
@@ -71,4 +95,4 @@ public final class SafeIterator<T>
   public static <T> SafeIterator<T> of(final Iterable<T> iterable) {
     return new SafeIterator<T>(iterable.iterator());
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import javax.annotation.Nullable;
+
+/**
+ * Lightweight exception for control-flow failures.
+ *
+ * Does not fill the stack trace or record suppressed exceptions; immutable instances may be shared.
+ *
+ * @see Throwables2#stackless(String)
+ * @since 3.0.1
+ */
+public class StacklessException
+    extends RuntimeException
+{
+  private static final long serialVersionUID = 1L;
+
+  public StacklessException(@Nullable final String message) {
+    this(message, null);
+  }
+
+  public StacklessException(@Nullable final String message, @Nullable final Throwable cause) {
+    super(message, cause, false, false);
+  }
+}
@@ -12,7 +12,11 @@
  */
 package org.sonatype.goodies.common;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -26,12 +30,29 @@ public class StringBuilderWriter
 {
   private static final String NULL = "null"; //NON-NLS
 
+  /**
+   * Default initial capacity; same as {@link StringBuilder#StringBuilder()}.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * Size of chunks copied when draining buffer.
+   */
+  private static final int CHUNK_SIZE = 8192;
+
   private final StringBuilder buffer;
 
   public StringBuilderWriter() {
     this(new StringBuilder());
   }
 
+  /**
+   * @since 3.0.1
+   */
+  public StringBuilderWriter(final int capacity) {
+    this(new StringBuilder(capacity));
+  }
+
   private StringBuilderWriter(final StringBuilder buffer) {
     this.buffer = checkNotNull(buffer);
     this.lock = buffer;
@@ -64,24 +85,18 @@ public class StringBuilderWriter
 
   @Override
   public void write(final String str, final int off, final int len) {
-    buffer.append(str.substring(off, off + len));
+    buffer.append(str, off, off + len);
   }
 
   @Override
   public StringBuilderWriter append(final CharSequence csq) {
-    if (csq == null) {
-      write(NULL);
-    }
-    else {
-      write(csq.toString());
-    }
+    buffer.append(csq == null ? NULL : csq);
     return this;
   }
 
   @Override
   public StringBuilderWriter append(final CharSequence csq, final int start, final int end) {
-    CharSequence cs = (csq == null ? NULL : csq);
-    write(cs.subSequence(start, end).toString());
+    buffer.append(csq == null ? NULL : csq, start, end);
     return this;
   }
 
@@ -91,6 +106,48 @@ public class StringBuilderWriter
     return this;
   }
 
+  /**
+   * Clear buffer, releasing its storage if capacity has grown beyond {@code maxRetainedCapacity}.
+   *
+   * @since 3.0.1
+   */
+  public void reset(final int maxRetainedCapacity) {
+    buffer.setLength(0);
+    if (buffer.capacity() > maxRetainedCapacity) {
+      buffer.trimToSize();
+      buffer.ensureCapacity(Math.min(DEFAULT_CAPACITY, maxRetainedCapacity));
+    }
+  }
+
+  /**
+   * Copy buffer contents to given writer, without building an intermediate {@link String}.
+   *
+   * @since 3.0.1
+   */
+  public void writeTo(final Writer writer) throws IOException {
+    checkNotNull(writer);
+    int length = buffer.length();
+    char[] chunk = new char[Math.min(length, CHUNK_SIZE)];
+    for (int i = 0; i < length; i += chunk.length) {
+      int n = Math.min(chunk.length, length - i);
+      buffer.getChars(i, i + n, chunk, 0);
+      writer.write(chunk, 0, n);
+    }
+  }
+
+  /**
+   * Encode buffer contents to given stream.  The stream is flushed but not closed.
+   *
+   * @since 3.0.1
+   */
+  public void writeTo(final OutputStream stream, final Charset charset) throws IOException {
+    checkNotNull(stream);
+    checkNotNull(charset);
+    Writer writer = new OutputStreamWriter(stream, charset);
+    writeTo(writer);
+    writer.flush();
+  }
+
   @Override
   public String toString() {
     return buffer.toString();
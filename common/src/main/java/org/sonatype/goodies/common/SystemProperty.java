@@ -14,10 +14,10 @@ package org.sonatype.goodies.common;
 
 import java.beans.PropertyEditor;
 import java.beans.PropertyEditorManager;
-import java.beans.PropertyEditorSupport;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 
@@ -79,28 +79,14 @@ public class SystemProperty
   }
 
   @Nullable
-  @SuppressWarnings("unchecked")
   public <T> T get(final Class<T> type) {
     checkNotNull(type);
-    PropertyEditor editor = PropertyEditorManager.findEditor(type);
-    if (editor == null) {
-      // HACK: Ensure we can always convert Boolean/Integer, seems like some JVM configurations can not do this?!
-      if (type == Boolean.class) {
-        editor = new BooleanPropertyEditor();
-      }
-      else if (type == Integer.class) {
-        editor = new IntegerPropertyEditor();
-      }
-      else {
-        throw new RuntimeException("No property-editor for type: " + type.getName());
-      }
-    }
+    Function<String, T> converter = converter(type);
     String value = get();
     if (value == null) {
       return null;
     }
-    editor.setAsText(value);
-    return (T) editor.getValue();
+    return converter.apply(value);
   }
 
   public <T> T get(final Class<T> type, final T defaultValue) {
@@ -116,6 +102,15 @@ public class SystemProperty
     log.trace("Remove: {}", name);
   }
 
+  /**
+   * Returns a view of this property which caches the converted value until the property changes.
+   *
+   * @since 3.0.1
+   */
+  public <T> CachedSystemProperty<T> cached(final Class<T> type, @Nullable final T defaultValue) {
+    return new CachedSystemProperty<>(this, type, defaultValue);
+  }
+
   // TODO: This could probably be converted into a PropertyEditor, for now leave as custom code
 
   public List<String> asList() {
@@ -136,30 +131,76 @@ public class SystemProperty
     return name + "=" + get();
   }
 
-  private static class TextPropertyEditorSupport
-      extends PropertyEditorSupport
+  //
+  // Conversion
+  //
+
+  /**
+   * Converters for common types; same semantics as their JDK property-editors, but stateless and shareable.
+   */
+  private static final ClassValue<Function<String, ?>> CONVERTERS = new ClassValue<Function<String, ?>>()
   {
     @Override
-    public void setAsText(final String text) {
-      super.setValue(text);
+    protected Function<String, ?> computeValue(final Class<?> type) {
+      if (type == String.class) {
+        return Function.identity();
+      }
+      else if (type == Boolean.class || type == boolean.class) {
+        return SystemProperty::parseBoolean;
+      }
+      else if (type == Integer.class || type == int.class) {
+        return Integer::decode;
+      }
+      else if (type == Long.class || type == long.class) {
+        return Long::decode;
+      }
+      else if (type == Short.class || type == short.class) {
+        return Short::decode;
+      }
+      else if (type == Byte.class || type == byte.class) {
+        return Byte::decode;
+      }
+      else if (type == Double.class || type == double.class) {
+        return Double::valueOf;
+      }
+      else if (type == Float.class || type == float.class) {
+        return Float::valueOf;
+      }
+      return null;
     }
-  }
+  };
 
-  private static class BooleanPropertyEditor
-    extends TextPropertyEditorSupport
-  {
-    @Override
-    public Object getValue() {
-      return Boolean.valueOf(getAsText());
+  private static Boolean parseBoolean(final String text) {
+    if ("true".equalsIgnoreCase(text)) {
+      return Boolean.TRUE;
+    }
+    else if ("false".equalsIgnoreCase(text)) {
+      return Boolean.FALSE;
     }
+    throw new IllegalArgumentException(text);
   }
 
-  private static class IntegerPropertyEditor
-      extends TextPropertyEditorSupport
-  {
-    @Override
-    public Object getValue() {
-      return Integer.valueOf(getAsText());
+  /**
+   * Resolve converter for given type.
+   *
+   * Common types use shared converters; other types use a new {@link PropertyEditor} per conversion, as editors
+   * are not thread-safe.
+   *
+   * @throws RuntimeException if type has no property-editor
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Function<String, T> converter(final Class<T> type) {
+    Function<String, ?> converter = CONVERTERS.get(type);
+    if (converter != null) {
+      return (Function<String, T>) converter;
+    }
+    if (PropertyEditorManager.findEditor(type) == null) {
+      throw new RuntimeException("No property-editor for type: " + type.getName());
     }
+    return text -> {
+      PropertyEditor editor = PropertyEditorManager.findEditor(type);
+      editor.setAsText(text);
+      return (T) editor.getValue();
+    };
   }
 }
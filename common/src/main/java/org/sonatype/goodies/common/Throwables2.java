@@ -14,6 +14,8 @@ package org.sonatype.goodies.common;
 
 import java.util.Collection;
 
+import javax.annotation.Nullable;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -54,6 +56,24 @@ public final class Throwables2
     }
   }
 
+  /**
+   * Create a {@link StacklessException} for control-flow failures.
+   *
+   * @since 3.0.1
+   */
+  public static StacklessException stackless(@Nullable final String message) {
+    return new StacklessException(message);
+  }
+
+  /**
+   * Create a {@link StacklessException} for control-flow failures.
+   *
+   * @since 3.0.1
+   */
+  public static StacklessException stackless(@Nullable final String message, @Nullable final Throwable cause) {
+    return new StacklessException(message, cause);
+  }
+
   /**
    * Helper to composite suppressed exceptions onto given throwable and throw.
    */
@@ -14,6 +14,11 @@ package org.sonatype.goodies.common;
 
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.TimeUnit.DAYS;
 import static java.util.concurrent.TimeUnit.HOURS;
@@ -291,74 +296,202 @@ public final class Time
   //
 
   /**
+   * Parse a human readable duration; ie. {@code 30s}, {@code 1.5 hours} or {@code 1h30m}.
+   *
+   * A single whole component is returned in its own unit, without range limits beyond {@code long}; compound and
+   * fractional values are in the finest unit given, or finer if needed to exactly represent fractional values.
+   *
    * @since 1.1
+   * @see #parseNanos(CharSequence)
    */
   public static Time parse(final String value) {
     if (value != null) {
-      return doParse(value.trim().toLowerCase());
+      Time single = parseSingle(value);
+      if (single != null) {
+        return single;
+      }
+      long nanos = parseNanos(value);
+      TimeUnit unit = finestUnit(value);
+      while (unit != NANOSECONDS && nanos % unit.toNanos(1) != 0) {
+        unit = FINER[unit.ordinal()];
+      }
+      return new Time(unit.convert(nanos, NANOSECONDS), unit);
     }
     return null;
   }
 
-  private static class ParseConfig
-  {
-    final TimeUnit unit;
+  private static final int PARSE_CACHE_SIZE = 256;
+
+  private static final Cache<String, Time> PARSE_CACHE = CacheBuilder.newBuilder()
+      .maximumSize(PARSE_CACHE_SIZE)
+      .build();
 
-    final String[] suffixes;
+  /**
+   * Parse a human readable duration, caching a bounded number of results.
+   *
+   * Intended for repeatedly parsed values from a small set; ie. per-request timeout headers.
+   *
+   * @since 3.0.1
+   * @see #parse(String)
+   */
+  public static Time parseCached(final String value) {
+    if (value != null) {
+      Time time = PARSE_CACHE.getIfPresent(value);
+      if (time == null) {
+        time = parse(value);
+        PARSE_CACHE.put(value, time);
+      }
+      return time;
+    }
+    return null;
+  }
 
-    private ParseConfig(final TimeUnit unit, final String... suffixes) {
-      this.unit = unit;
-      this.suffixes = suffixes;
+  /**
+   * Parse a human readable duration to nanoseconds, in a single pass and without allocation.
+   *
+   * Accepts one or more components, each an optionally fractional number followed by a case-insensitive unit
+   * suffix; ie. {@code 1h 30m} or {@code 2.5s}.  Surrounding whitespace is ignored; fractional nanoseconds are
+   * truncated.
+   *
+   * @throws IllegalArgumentException if value is not a valid duration or the result overflows
+   * @since 3.0.1
+   */
+  public static long parseNanos(final CharSequence value) {
+    checkNotNull(value);
+    try {
+      return doParse(value);
+    }
+    catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Duration overflow: " + value, e);
     }
   }
 
-  private static final ParseConfig[] PARSE_CONFIGS = {
-      new ParseConfig(SECONDS, "seconds", "second", "sec", "s"),
-      new ParseConfig(MINUTES, "minutes", "minute", "min", "m"),
-      new ParseConfig(HOURS, "hours", "hour", "hr", "h"),
-      new ParseConfig(DAYS, "days", "day", "d"),
+  private static final TimeUnit[] UNITS = TimeUnit.values();
+
+  /**
+   * Next finer unit, indexed by {@link TimeUnit#ordinal()}.
+   */
+  private static final TimeUnit[] FINER = {
+      NANOSECONDS, NANOSECONDS, MICROSECONDS, MILLISECONDS, SECONDS, MINUTES, HOURS
+  };
 
-      // These probably used less, so parse last
-      new ParseConfig(MILLISECONDS, "milliseconds", "millisecond", "millis", "ms"),
-      new ParseConfig(NANOSECONDS, "nanoseconds", "nanosecond", "nanos", "ns"),
-      new ParseConfig(MICROSECONDS, "microseconds", "microsecond", "micros", "us"),
+  /**
+   * Suffixes, in lower-case, indexed by {@link TimeUnit#ordinal()}.
+   */
+  private static final String[][] SUFFIXES = {
+      { "nanoseconds", "nanosecond", "nanos", "ns" },
+      { "microseconds", "microsecond", "micros", "us" },
+      { "milliseconds", "millisecond", "millis", "ms" },
+      { "seconds", "second", "sec", "s" },
+      { "minutes", "minute", "min", "m" },
+      { "hours", "hour", "hr", "h" },
+      { "days", "day", "d" },
   };
 
-  private static Time doParse(final String value) {
-    for (ParseConfig config : PARSE_CONFIGS) {
-      Time t = extract(value, config.unit, config.suffixes);
-      if (t != null) {
-        return t;
+  private static long doParse(final CharSequence value) {
+    int length = value.length();
+    int p = skipWhitespace(value, 0);
+    if (p == length) {
+      throw new IllegalArgumentException("Unable to parse: " + value);
+    }
+
+    long total = 0;
+    while (p < length) {
+      int number = p;
+      int numberEnd = Decimals.skipNumber(value, p);
+      if (numberEnd == number) {
+        throw new IllegalArgumentException("Unable to parse: " + value);
       }
+
+      p = skipWhitespace(value, numberEnd);
+      int start = p;
+      p = skipLetters(value, p);
+      int unit = unitOrdinal(value, start, p);
+      if (unit < 0) {
+        throw new IllegalArgumentException("Unable to parse: " + value);
+      }
+      p = skipWhitespace(value, p);
+
+      long multiplier = UNITS[unit].toNanos(1);
+      total = Math.addExact(total, Math.multiplyExact(Decimals.wholePart(value, number, numberEnd), multiplier));
+      total = Math.addExact(total, Decimals.fractionPart(multiplier, value, number, numberEnd));
     }
-    throw new RuntimeException("Unable to parse: " + value);
+    return total;
   }
 
-  private static Time extract(final String value, final TimeUnit unit, final String... suffixes) {
-    String number=null, units=null;
+  /**
+   * Parse a single whole component; ie. {@code 200000 days}, or {@code null} if value is not one.
+   */
+  @Nullable
+  private static Time parseSingle(final CharSequence value) {
+    int length = value.length();
+    int p = skipWhitespace(value, 0);
+    int end = Decimals.skipDigits(value, p);
+    if (end == p) {
+      return null;
+    }
+    long whole;
+    try {
+      whole = Decimals.wholePart(value, p, end);
+    }
+    catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Duration overflow: " + value, e);
+    }
+    p = skipWhitespace(value, end);
+    int start = p;
+    p = skipLetters(value, p);
+    int unit = unitOrdinal(value, start, p);
+    if (unit < 0 || skipWhitespace(value, p) != length) {
+      return null;
+    }
+    return new Time(whole, UNITS[unit]);
+  }
 
-    for (int p=0; p<value.length(); p++) {
-      // skip until we find a non-digit
-      if (Character.isDigit(value.charAt(p))) {
-        continue;
+  /**
+   * Returns the finest unit named in given (valid) value.
+   */
+  private static TimeUnit finestUnit(final CharSequence value) {
+    int finest = UNITS.length;
+    int length = value.length();
+    int p = 0;
+    while (p < length) {
+      int start = p;
+      p = skipLetters(value, p);
+      if (p > start) {
+        finest = Math.min(finest, unitOrdinal(value, start, p));
+      }
+      else {
+        p++;
       }
-      // split number and units suffix string
-      number = value.substring(0, p);
-      units = value.substring(p, value.length()).trim();
-      break;
     }
+    return UNITS[finest];
+  }
+
+  private static int skipWhitespace(final CharSequence value, int p) {
+    while (p < value.length() && Character.isWhitespace(value.charAt(p))) {
+      p++;
+    }
+    return p;
+  }
 
-    // if decoded units, check if its one of the supported suffixes
-    if (units != null) {
-      for (String suffix : suffixes) {
-        if (suffix.equals(units)) {
-          long n = Long.parseLong(number.trim());
-          return new Time(n, unit);
+  private static int skipLetters(final CharSequence value, int p) {
+    while (p < value.length() && Character.isLetter(value.charAt(p))) {
+      p++;
+    }
+    return p;
+  }
+
+  /**
+   * Returns {@link TimeUnit#ordinal()} of the unit matching given region, or {@code -1}.
+   */
+  private static int unitOrdinal(final CharSequence value, final int start, final int end) {
+    for (int ordinal = 0; ordinal < SUFFIXES.length; ordinal++) {
+      for (String suffix : SUFFIXES[ordinal]) {
+        if (Decimals.matches(value, start, end, suffix)) {
+          return ordinal;
         }
       }
     }
-
-    // else can not extract
-    return null;
+    return -1;
   }
-}
\ No newline at end of file
+}
@@ -124,4 +124,63 @@ public class ByteSizeTest
     assertThat(size.unit(), equalTo(ByteUnit.KILOBYTES));
     assertThat(size.value(), equalTo(1L));
   }
+
+  @Test
+  public void asMegaBytesFromBytes() {
+    assertThat(ByteSize.bytes(3 * 1024 * 1024).toMegaBytes(), equalTo(3L));
+    assertThat(ByteSize.teraBytes(1).toMegaBytes(), equalTo(1024L * 1024));
+  }
+
+  @Test
+  public void parseRetainsUnit() {
+    assertThat(ByteSize.parse("512MB"), equalTo(ByteSize.megaBytes(512)));
+    assertThat(ByteSize.parse("2 kilobytes"), equalTo(ByteSize.kiloBytes(2)));
+    assertThat(ByteSize.parse("1.5k"), equalTo(ByteSize.bytes(1536)));
+    assertThat(ByteSize.parse("42"), equalTo(ByteSize.bytes(42)));
+  }
+
+  @Test
+  public void parseBytes() {
+    assertThat(ByteSize.parseBytes("512mb"), equalTo(512L * 1024 * 1024));
+    assertThat(ByteSize.parseBytes(" 1.5 GiB "), equalTo(3L * 512 * 1024 * 1024));
+    assertThat(ByteSize.parseBytes("0.5b"), equalTo(0L));
+    assertThat(ByteSize.parseBytes(".25k"), equalTo(256L));
+  }
+
+  @Test
+  public void parseBytesDecimal() {
+    assertThat(ByteSize.parseBytes("512mb", true), equalTo(512_000_000L));
+    assertThat(ByteSize.parseBytes("1.5 KB", true), equalTo(1500L));
+    assertThat(ByteSize.parseBytes("1kib", true), equalTo(1024L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseBytesInvalidUnit() {
+    ByteSize.parseBytes("100 parsecs");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseBytesMissingNumber() {
+    ByteSize.parseBytes("mb");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseBytesOverflow() {
+    ByteSize.parseBytes("10000000t");
+  }
+
+  @Test
+  public void arithmetic() {
+    assertThat(ByteSize.kiloBytes(1).plus(ByteSize.bytes(1)), equalTo(ByteSize.bytes(1025)));
+    assertThat(ByteSize.megaBytes(1).minus(ByteSize.kiloBytes(1)), equalTo(ByteSize.kiloBytes(1023)));
+    assertThat(ByteSize.gigaBytes(2).times(3), equalTo(ByteSize.gigaBytes(6)));
+    assertThat(ByteSize.kiloBytes(1).compareTo(ByteSize.bytes(1024)), equalTo(0));
+    assertThat(ByteSize.teraBytes(Long.MAX_VALUE).compareTo(ByteSize.bytes(Long.MAX_VALUE)), equalTo(1));
+    assertThat(ByteSize.bytes(1).compareTo(ByteSize.kiloBytes(1)), equalTo(-1));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void arithmeticOverflow() {
+    ByteSize.teraBytes(Long.MAX_VALUE / 2).times(3);
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.sonatype.goodies.common.MultipleFailures.MultipleFailuresException;
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ConcurrentMultipleFailures}.
+ */
+public class ConcurrentMultipleFailuresTest
+    extends TestSupport
+{
+  private static Exception failure(final String message) {
+    return new Exception(message);
+  }
+
+  @Test
+  public void deduplicatesIdenticalFailures() throws Exception {
+    ConcurrentMultipleFailures underTest = new ConcurrentMultipleFailures();
+    for (int i = 0; i < 3; i++) {
+      underTest.add(failure("FOO"));
+    }
+    underTest.add(failure("BAR"));
+
+    assertThat(underTest.size(), is(2));
+    assertThat(underTest.getOccurrences(), is(4L));
+    Map<Throwable, Long> counts = underTest.getFailureCounts();
+    assertThat(counts.values().iterator().next(), is(3L));
+
+    try {
+      underTest.maybePropagate("OOPS");
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      assertThat(e.getSuppressed().length, is(2));
+      assertThat(e.getSuppressed()[0].getMessage(), is("FOO"));
+      assertThat(e.getMessage(), is("OOPS; 4 failures (2 distinct)"));
+    }
+  }
+
+  @Test
+  public void limitBoundsRetainedFailures() throws Exception {
+    ConcurrentMultipleFailures underTest = new ConcurrentMultipleFailures(2, false);
+    for (int i = 0; i < 5; i++) {
+      underTest.add(failure("FOO"));
+    }
+    assertThat(underTest.size(), is(2));
+    assertThat(underTest.getFailures().size(), is(2));
+    assertThat(underTest.getOccurrences(), is(5L));
+    assertThat(underTest.getDropped(), is(3L));
+
+    try {
+      underTest.maybePropagate("OOPS");
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      assertThat(e.getMessage(), is("OOPS; 5 failures (2 retained)"));
+    }
+  }
+
+  @Test
+  public void sameInstanceWithoutDeduplication() {
+    ConcurrentMultipleFailures underTest = new ConcurrentMultipleFailures(10, false);
+    Exception failure = failure("FOO");
+    underTest.add(failure);
+    underTest.add(failure);
+
+    assertThat(underTest.size(), is(2));
+    assertThat(underTest.getFailureCounts().get(failure), is(2L));
+  }
+
+  @Test
+  public void concurrentAdds() throws Exception {
+    ConcurrentMultipleFailures underTest = new ConcurrentMultipleFailures(100, true);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            underTest.add(failure("FAIL-" + (i % 10)));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    finally {
+      executor.shutdown();
+    }
+
+    assertThat(underTest.size(), is(10));
+    assertThat(underTest.getOccurrences(), is(4000L));
+    for (long count : underTest.getFailureCounts().values()) {
+      assertThat(count, is(400L));
+    }
+  }
+
+  @Test
+  public void emptyDoesNotPropagate() throws Exception {
+    ConcurrentMultipleFailures underTest = new ConcurrentMultipleFailures();
+    assertThat(underTest.isEmpty(), is(true));
+    underTest.maybePropagate();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for {@link Decimals}.
+ */
+public class DecimalsTest
+    extends TestSupport
+{
+  @Test
+  public void skipNumber() {
+    assertThat(Decimals.skipNumber("12kb", 0), is(2));
+    assertThat(Decimals.skipNumber("1.5h", 0), is(3));
+    assertThat(Decimals.skipNumber(".5h", 0), is(2));
+    assertThat(Decimals.skipNumber("1.h", 0), is(2));
+    assertThat(Decimals.skipNumber(".h", 0), is(0));
+    assertThat(Decimals.skipNumber("h", 0), is(0));
+  }
+
+  @Test
+  public void wholeAndFractionParts() {
+    assertThat(Decimals.wholePart("12.75", 0, 5), is(12L));
+    assertThat(Decimals.wholePart(".75", 0, 3), is(0L));
+    assertThat(Decimals.fractionPart(1000, "12.75", 0, 5), is(750L));
+    assertThat(Decimals.fractionPart(1000, "12", 0, 2), is(0L));
+    // digits beyond MAX_FRACTION_DIGITS are ignored
+    assertThat(Decimals.fractionPart(1_000_000_000_000L, "0.1234567899", 0, 12), is(123_456_789_000L));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void wholePartOverflow() {
+    Decimals.wholePart("99999999999999999999", 0, 20);
+  }
+
+  @Test
+  public void matchesIgnoresCase() {
+    assertThat(Decimals.matches("10KiB", 2, 5, "kib"), is(true));
+    assertThat(Decimals.matches("10KiB", 2, 4, "kib"), is(false));
+  }
+}
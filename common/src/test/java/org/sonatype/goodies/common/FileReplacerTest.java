@@ -13,9 +13,16 @@
 package org.sonatype.goodies.common;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.sonatype.goodies.common.FileReplacer.ContentWriter;
 import org.sonatype.goodies.testsupport.TestSupport;
@@ -44,6 +51,8 @@ public class FileReplacerTest
 
   private FileReplacer fileReplacer;
 
+  private final Map<String, Boolean> skipped = new ConcurrentHashMap<>();
+
   @Before
   public void setUp()
       throws Exception
@@ -158,4 +167,135 @@ public class FileReplacerTest
     // sanity assert we are not leaking files
     assertFileCount(testFolder.getRoot(), 2);
   }
+
+  @Test
+  public void replaceWithChannelWriter()
+      throws Exception
+  {
+    fileReplacer.setDurable(true);
+    fileReplacer.replaceChannel(channel -> {
+      channel.write(ByteBuffer.wrap("hello".getBytes()));
+    });
+
+    assertThat(readFirstLine(fileReplacer.getFile()), is("hello"));
+    assertThat(fileReplacer.getTempFile(), not(exists()));
+    assertFileCount(testFolder.getRoot(), 1);
+  }
+
+  @Test
+  public void replaceTwiceWithSameInstance()
+      throws Exception
+  {
+    fileReplacer.replaceChannel(channel -> {
+      channel.write(ByteBuffer.wrap("first".getBytes()));
+    });
+    // temporary file was moved into place by the first replacement
+    fileReplacer.replace(new ContentWriter()
+    {
+      @Override
+      public void write(final BufferedOutputStream output) throws IOException {
+        output.write("second".getBytes());
+      }
+    });
+
+    assertThat(readFirstLine(fileReplacer.getFile()), is("second"));
+    assertThat(fileReplacer.getTempFile(), not(exists()));
+    assertFileCount(testFolder.getRoot(), 1);
+  }
+
+  @Test
+  public void replaceFromChannel()
+      throws Exception
+  {
+    fileReplacer.setDeleteBackupFile(false);
+    byte[] content = new byte[3 * 1024 * 1024];
+    content[content.length - 1] = 'x';
+    fileReplacer.replaceFrom(Channels.newChannel(new ByteArrayInputStream(content)));
+
+    assertThat(fileReplacer.getFile().length(), is((long) content.length));
+    assertThat(readFirstLine(fileReplacer.getBackupFile()), is("initial"));
+    assertFileCount(testFolder.getRoot(), 2);
+  }
+
+  @Test
+  public void durableWriterMayCloseStream()
+      throws Exception
+  {
+    fileReplacer.setDurable(true);
+    fileReplacer.replace(new ContentWriter()
+    {
+      @Override
+      public void write(final BufferedOutputStream output) throws IOException {
+        output.write("hello".getBytes());
+        output.close();
+      }
+    });
+
+    assertThat(readFirstLine(fileReplacer.getFile()), is("hello"));
+  }
+
+  private Thread replaceAsync(final String content) throws Exception {
+    FileReplacer replacer = new FileReplacer(fileReplacer.getFile());
+    replacer.setDeleteBackupFile(true);
+    replacer.setCoalesce(true);
+    Thread thread = new Thread(() -> {
+      try {
+        replacer.replaceChannel(channel -> channel.write(ByteBuffer.wrap(content.getBytes())));
+        skipped.put(content, replacer.isSkipped());
+      }
+      catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    thread.start();
+    // wait for thread to block on the target lock
+    while (thread.getState() != Thread.State.WAITING) {
+      Thread.sleep(5);
+    }
+    return thread;
+  }
+
+  @Test
+  public void coalesceSkipsSupersededReplacement()
+      throws Exception
+  {
+    List<Thread> threads = new ArrayList<>();
+    fileReplacer.setCoalesce(true);
+    fileReplacer.replaceChannel(channel -> {
+      try {
+        // queue two more replacements while this one holds the lock
+        threads.add(replaceAsync("second"));
+        threads.add(replaceAsync("third"));
+      }
+      catch (Exception e) {
+        throw new IOException(e);
+      }
+      channel.write(ByteBuffer.wrap("first".getBytes()));
+    });
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(fileReplacer.isSkipped(), is(false));
+    assertThat(skipped.get("second"), is(true));
+    assertThat(skipped.get("third"), is(false));
+    assertThat(readFirstLine(fileReplacer.getFile()), is("third"));
+
+    // skipped replacement should not leak its temporary file
+    assertFileCount(testFolder.getRoot(), 1);
+  }
+
+  @Test
+  public void replaceWithLockFile()
+      throws Exception
+  {
+    fileReplacer.setLockFile(true);
+    fileReplacer.replaceChannel(channel -> {
+      channel.write(ByteBuffer.wrap("hello".getBytes()));
+    });
+
+    assertThat(readFirstLine(fileReplacer.getFile()), is("hello"));
+    assertThat(fileReplacer.getLockFile(), exists());
+    assertFileCount(testFolder.getRoot(), 2);
+  }
 }
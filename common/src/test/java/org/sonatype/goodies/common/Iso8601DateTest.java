@@ -12,6 +12,8 @@
  */
 package org.sonatype.goodies.common;
 
+import java.text.ParseException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.TimeZone;
 
@@ -64,4 +66,49 @@ public class Iso8601DateTest
 
     assertEquals(formatted1, formatted2);
   }
+
+  @Test
+  public void testFormatParseInstant() throws Exception {
+    Instant instant = Instant.ofEpochMilli(1475352000123L);
+
+    String formatted = Iso8601Date.format(instant);
+    assertEquals(formatted, Iso8601Date.format(instant.toEpochMilli()));
+    assertEquals(formatted, Iso8601Date.format(new Date(instant.toEpochMilli())));
+
+    StringBuilder buff = new StringBuilder("at ");
+    Iso8601Date.formatTo(instant, buff);
+    assertEquals("at " + formatted, buff.toString());
+
+    assertEquals(instant, Iso8601Date.parseInstant(formatted));
+  }
+
+  @Test
+  public void testParseOffset() throws Exception {
+    Date date = Iso8601Date.parse("2016-10-01T22:00:00.123+02:00");
+    assertEquals(1475352000123L, date.getTime());
+  }
+
+  @Test
+  public void testParseFractionDigits() throws Exception {
+    assertEquals(1475352000000L, Iso8601Date.parse("2016-10-01T20:00:00Z").getTime());
+    assertEquals(1475352000500L, Iso8601Date.parse("2016-10-01T20:00:00.5Z").getTime());
+    assertEquals(Instant.ofEpochSecond(1475352000L, 123456000L),
+        Iso8601Date.parseInstant("2016-10-01T20:00:00.123456Z"));
+  }
+
+  @Test
+  public void testParseLenientOffset() throws Exception {
+    assertEquals(1475352000123L, Iso8601Date.parse("2016-10-01T22:00:00.123+02").getTime());
+    assertEquals(1475352000123L, Iso8601Date.parse("2016-10-01T22:00:00.123+0200").getTime());
+  }
+
+  @Test
+  public void testParseIgnoresTrailingText() throws Exception {
+    assertEquals(1475352000123L, Iso8601Date.parse("2016-10-01T20:00:00.123Z trailing").getTime());
+  }
+
+  @Test(expected = ParseException.class)
+  public void testParseInvalid() throws Exception {
+    Iso8601Date.parse("2016-10-01");
+  }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link Locks}.
+ */
+public class LocksTest
+    extends TestSupport
+{
+  @Test
+  public void handleUnlocksOnClose() {
+    ReentrantLock lock = new ReentrantLock();
+    try (Locks.Handle handle = Locks.acquire(lock)) {
+      assertThat(handle.getLock(), sameInstance(lock));
+      assertThat(lock.isHeldByCurrentThread(), is(true));
+    }
+    assertThat(lock.isLocked(), is(false));
+  }
+
+  @Test
+  public void instrumentedMetrics() {
+    InstrumentedLock lock = Locks.instrument("test.metrics", new ReentrantLock());
+    lock.getMetrics().reset();
+    try (Locks.Handle handle = Locks.acquire(lock)) {
+      // reentrant hold counts once
+      lock.lock();
+      lock.unlock();
+    }
+    LockMetrics metrics = Locks.metrics("test.metrics");
+    assertThat(metrics, sameInstance(lock.getMetrics()));
+    assertThat(metrics.getAcquisitions(), is(2L));
+    assertThat(metrics.getContended(), is(0L));
+    assertThat(metrics.getWaitHistogram()[0], is(2L));
+  }
+
+  @Test
+  public void timeoutDescribesHolder() throws Exception {
+    ReadWriteLock readWriteLock = Locks.instrument("test.timeout", new ReentrantReadWriteLock());
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder = new Thread(() -> {
+      try (Locks.Handle handle = Locks.acquireWrite(readWriteLock)) {
+        locked.countDown();
+        release.await();
+      }
+      catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }, "test-holder");
+    holder.start();
+    locked.await();
+    try {
+      Locks.lock(readWriteLock.readLock(), Duration.ofMillis(10));
+      fail();
+    }
+    catch (LockTimeoutException e) {
+      assertThat(e.getMessage(), containsString("test-holder"));
+    }
+    finally {
+      release.countDown();
+      holder.join();
+    }
+
+    LockMetrics metrics = Locks.metrics("test.timeout.read");
+    assertThat(metrics.getTimeouts(), greaterThan(0L));
+  }
+
+  @Test
+  public void invalidTimeoutFallsBack() {
+    assertThat(Locks.parseTimeout("test", null), is(Duration.ofSeconds(60)));
+    assertThat(Locks.parseTimeout("test", "PT5S"), is(Duration.ofSeconds(5)));
+    assertThat(Locks.parseTimeout("test", "30"), is(Duration.ofSeconds(30)));
+    assertThat(Locks.parseTimeout("test", "bogus"), is(Duration.ofSeconds(60)));
+    assertThat(Locks.parseTimeout("test", "-1"), is(Duration.ofSeconds(60)));
+  }
+
+  @Test
+  public void histogramBuckets() {
+    assertThat(LockMetrics.bucket(0), is(0));
+    assertThat(LockMetrics.bucket(1023), is(0));
+    assertThat(LockMetrics.bucket(1024), is(1));
+    assertThat(LockMetrics.bucket(LockMetrics.bucketLimitNanos(5) - 1), is(5));
+    assertThat(LockMetrics.bucket(Long.MAX_VALUE), is(LockMetrics.BUCKETS - 1));
+  }
+
+  @Test
+  public void stripedLocks() {
+    KeyedLocks<String> locks = KeyedLocks.striped(3);
+    assertThat(locks.get("foo"), sameInstance(locks.get(new String("foo"))));
+  }
+
+  @Test
+  public void weakLocksAreIndependentPerKey() throws Exception {
+    KeyedLocks<String> locks = KeyedLocks.weak();
+    assertThat(locks.get("foo"), sameInstance(locks.get("foo")));
+
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder = new Thread(() -> {
+      try (Locks.Handle handle = locks.acquireWrite("foo")) {
+        locked.countDown();
+        release.await();
+      }
+      catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    holder.start();
+    locked.await();
+    try {
+      // unrelated key is not blocked
+      Locks.write(locks, "bar").unlock();
+      assertThat(locks.get("foo").writeLock().tryLock(), is(false));
+    }
+    finally {
+      release.countDown();
+      holder.join();
+    }
+  }
+
+  @Test
+  public void optimisticRead() {
+    StampedLock lock = new StampedLock();
+    assertThat(Locks.optimisticRead(lock, () -> "foo"), is("foo"));
+  }
+
+  @Test
+  public void optimisticReadRetriesAfterWrite() throws Exception {
+    StampedLock lock = new StampedLock();
+    AtomicInteger value = new AtomicInteger(1);
+    AtomicInteger reads = new AtomicInteger();
+
+    int result = Locks.optimisticRead(lock, () -> {
+      if (reads.getAndIncrement() == 0) {
+        // intervening write invalidates the optimistic stamp
+        Thread writer = new Thread(() -> {
+          long stamp = lock.writeLock();
+          value.set(2);
+          lock.unlockWrite(stamp);
+        });
+        writer.start();
+        try {
+          writer.join();
+        }
+        catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      return value.get();
+    });
+
+    assertThat(result, is(2));
+    assertThat(reads.get(), is(2));
+  }
+
+  @Test
+  public void readOrWrite() {
+    StampedLock lock = new StampedLock();
+    AtomicInteger value = new AtomicInteger();
+    AtomicInteger writes = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      int result = Locks.readOrWrite(lock, value::get, v -> v == 0, () -> {
+        writes.incrementAndGet();
+        value.set(42);
+        return 42;
+      });
+      assertThat(result, is(42));
+    }
+    assertThat(writes.get(), is(1));
+    assertThat(lock.isReadLocked() || lock.isWriteLocked(), is(false));
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link Loggers}.
+ */
+public class LoggersTest
+    extends TestSupport
+{
+  public static class Target
+  {
+  }
+
+  public static class Target$$EnhancerByGuice$$1
+      extends Target
+  {
+  }
+
+  public static class Target$HibernateProxy$1
+      extends Target$$EnhancerByGuice$$1
+  {
+  }
+
+  public static class Target$ByteBuddy$1
+      extends Target
+  {
+  }
+
+  public static class Target$$SpringCGLIB$$0
+      extends Target
+  {
+  }
+
+  @Test
+  public void plainClass() {
+    assertThat(Loggers.getLogger(Target.class).getName(), is(Target.class.getName()));
+  }
+
+  @Test
+  public void enhancedClasses() {
+    assertThat(Loggers.getLogger(Target$$EnhancerByGuice$$1.class).getName(), is(Target.class.getName()));
+    assertThat(Loggers.getLogger(Target$ByteBuddy$1.class).getName(), is(Target.class.getName()));
+    assertThat(Loggers.getLogger(Target$$SpringCGLIB$$0.class).getName(), is(Target.class.getName()));
+    // nested enhancement resolves to first non-synthetic class
+    assertThat(Loggers.getLogger(new Target$HibernateProxy$1()).getName(), is(Target.class.getName()));
+  }
+
+  @Test
+  public void cached() {
+    assertThat(Loggers.getLogger(Target.class), sameInstance(Loggers.getLogger(Target.class)));
+  }
+}
@@ -22,6 +22,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -87,4 +88,9 @@ public class OIDTest
 
     assertThat(OID.find(Arrays.asList(obj1, obj2, obj3), OID.oid(obj2)), is(equalTo(obj2)));
   }
+
+  @Test
+  public void testFindInvalidId() {
+    assertThat(OID.find(Arrays.asList(new Object()), "invalid"), is(nullValue()));
+  }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link OidIndex}.
+ */
+public class OidIndexTest
+    extends TestSupport
+{
+  private final OidIndex<Object> underTest = new OidIndex<>();
+
+  @Test
+  public void registerAndFind() {
+    Object obj1 = new Object();
+    Object obj2 = new Object();
+    OID oid1 = underTest.register(obj1);
+    underTest.register(obj2);
+
+    assertThat(oid1, is(OID.get(obj1)));
+    assertThat(underTest.find(oid1), sameInstance(obj1));
+    assertThat(underTest.find(OID.render(obj2)), sameInstance(obj2));
+    assertThat(underTest.size(), is(2));
+  }
+
+  @Test
+  public void registerTwice() {
+    Object obj = new Object();
+    underTest.register(obj);
+    underTest.register(obj);
+    assertThat(underTest.size(), is(1));
+  }
+
+  @Test
+  public void unregister() {
+    Object obj = new Object();
+    underTest.register(obj);
+    assertThat(underTest.unregister(obj), is(true));
+    assertThat(underTest.unregister(obj), is(false));
+    assertThat(underTest.find(OID.get(obj)), nullValue());
+    assertThat(underTest.size(), is(0));
+  }
+
+  @Test
+  public void findMissingOrInvalid() {
+    assertThat(underTest.find(OID.get(new Object())), nullValue());
+    assertThat(underTest.find("not-an-oid"), nullValue());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for {@link PrintBuffer} and {@link StringBuilderWriter}.
+ */
+public class PrintBufferTest
+    extends TestSupport
+{
+  @Test
+  public void append_ranges() {
+    StringBuilderWriter writer = new StringBuilderWriter();
+    writer.write("abcdef", 1, 3);
+    writer.append("xyz", 1, 2);
+    writer.append(null);
+    assertThat(writer.toString(), is("bcdynull"));
+  }
+
+  @Test
+  public void writeTo_writerAndStream() throws Exception {
+    StringBuilderWriter writer = new StringBuilderWriter();
+    for (int i = 0; i < 5000; i++) {
+      writer.append("éx");
+    }
+    StringWriter target = new StringWriter();
+    writer.writeTo(target);
+    assertThat(target.toString(), is(writer.toString()));
+
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    writer.writeTo(stream, StandardCharsets.UTF_8);
+    assertThat(stream.toString(StandardCharsets.UTF_8), is(writer.toString()));
+  }
+
+  @Test
+  public void reset_releasesLargeCapacity() {
+    StringBuilderWriter writer = new StringBuilderWriter();
+    writer.getBuffer().setLength(1000);
+    writer.reset(100);
+    assertThat(writer.getBuffer().length(), is(0));
+    assertThat(writer.getBuffer().capacity(), lessThanOrEqualTo(100));
+
+    writer.getBuffer().setLength(50);
+    int capacity = writer.getBuffer().capacity();
+    writer.reset(100);
+    assertThat(writer.getBuffer().capacity(), is(capacity));
+  }
+
+  @Test
+  public void reset_keepsCapacityOfUnpooledBuffer() {
+    PrintBuffer buffer = new PrintBuffer();
+    buffer.getBuffer().setLength(PrintBuffer.MAX_RETAINED_CAPACITY + 1);
+    int capacity = buffer.getBuffer().capacity();
+    buffer.reset();
+    assertThat(buffer.getBuffer().length(), is(0));
+    assertThat(buffer.getBuffer().capacity(), is(capacity));
+  }
+
+  @Test
+  public void acquire_reusesPerThread() {
+    PrintBuffer first;
+    try (PrintBuffer buffer = PrintBuffer.acquire()) {
+      first = buffer;
+      buffer.print("foo");
+
+      // nested acquire gets a distinct buffer
+      try (PrintBuffer nested = PrintBuffer.acquire()) {
+        assertThat(nested, not(sameInstance(buffer)));
+      }
+      assertThat(buffer.toString(), is("foo"));
+    }
+    try (PrintBuffer buffer = PrintBuffer.acquire()) {
+      assertThat(buffer, sameInstance(first));
+      assertThat(buffer.getBuffer().length(), is(0));
+      buffer.formatln("%s", "bar");
+      assertThat(buffer.toString().length(), greaterThan(0));
+    }
+  }
+
+  @Test
+  public void invalidCapacityFallsBack() {
+    assertThat(PrintBuffer.parseCapacity("test", null), is(64 * 1024));
+    assertThat(PrintBuffer.parseCapacity("test", "1024"), is(1024));
+    assertThat(PrintBuffer.parseCapacity("test", "0"), is(0));
+    assertThat(PrintBuffer.parseCapacity("test", "64k"), is(64 * 1024));
+    assertThat(PrintBuffer.parseCapacity("test", "-1"), is(64 * 1024));
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link PropertiesCache} and {@link PropertiesWatcher}.
+ */
+public class PropertiesCacheTest
+    extends TestSupport
+{
+  @Rule
+  public TemporaryFolder testFolder = new TemporaryFolder();
+
+  private File write(final File file, final String content) throws Exception {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @Test
+  public void loadReturnsCopies() throws Exception {
+    File file = write(testFolder.newFile("test.properties"), "foo=bar\n");
+    Properties first = Properties2.load(file);
+    Properties second = Properties2.load(file);
+    assertThat(first, not(sameInstance(second)));
+    assertThat(first.getProperty("foo"), is("bar"));
+
+    first.setProperty("foo", "changed");
+    assertThat(Properties2.load(file).getProperty("foo"), is("bar"));
+  }
+
+  @Test
+  public void changedFileIsReloaded() throws Exception {
+    File file = write(testFolder.newFile("test.properties"), "foo=bar\n");
+    assertThat(Properties2.load(file).getProperty("foo"), is("bar"));
+
+    write(file, "foo=bar-changed\n");
+    assertThat(Properties2.load(file).getProperty("foo"), is("bar-changed"));
+  }
+
+  @Test
+  public void replacedFileWithSameSizeAndTimeIsReloaded() throws Exception {
+    File file = write(testFolder.newFile("test.properties"), "foo=bar\n");
+    FileTime modified = Files.getLastModifiedTime(file.toPath());
+    assertThat(Properties2.load(file).getProperty("foo"), is("bar"));
+
+    // as seen on file-systems with coarse last-modified granularity
+    File temp = write(testFolder.newFile("test.tmp"), "foo=baz\n");
+    Files.setLastModifiedTime(temp.toPath(), modified);
+    Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    assertThat(Properties2.load(file).getProperty("foo"), is("baz"));
+  }
+
+  @Test
+  public void unwatchReleasesDirectory() throws Exception {
+    File file = write(testFolder.newFile("test.properties"), "foo=bar\n");
+    PropertiesWatcher.Listener first = (changed, properties) -> { };
+    PropertiesWatcher.Listener second = (changed, properties) -> { };
+    try (PropertiesWatcher watcher = new PropertiesWatcher()) {
+      watcher.watch(file, first);
+      watcher.watch(file, second);
+      assertThat(watcher.getWatchedDirectoryCount(), is(1));
+
+      watcher.unwatch(file, first);
+      assertThat(watcher.getWatchedDirectoryCount(), is(1));
+      watcher.unwatch(file, second);
+      assertThat(watcher.getWatchedDirectoryCount(), is(0));
+    }
+  }
+
+  @Test
+  public void localPath() throws Exception {
+    File file = testFolder.newFile("test.properties");
+    assertThat(PropertiesCache.localPath(file.toURI().toURL()), is(file.toPath()));
+    URL jar = URI.create("jar:" + file.toURI() + "!/foo.properties").toURL();
+    assertThat(PropertiesCache.localPath(jar), is(file.toPath()));
+    assertThat(PropertiesCache.localPath(URI.create("http://example.com/foo.properties").toURL()), nullValue());
+  }
+
+  @Test
+  public void loaderResource() {
+    PropertiesLoader loader = new PropertiesLoader(TestSupport.class, "/logback.xml");
+    assertThat(loader.getResource(), notNullValue());
+    assertThat(loader.getResource(), sameInstance(loader.getResource()));
+  }
+
+  @Test
+  public void watcherNotifiesOnChange() throws Exception {
+    File file = write(testFolder.newFile("test.properties"), "foo=bar\n");
+    BlockingQueue<Properties> changes = new ArrayBlockingQueue<>(10);
+    try (PropertiesWatcher watcher = new PropertiesWatcher()) {
+      Properties initial = watcher.watch(file, (changed, properties) -> changes.add(properties));
+      assertThat(initial.getProperty("foo"), is("bar"));
+
+      // replace, as editors and FileReplacer do
+      File temp = write(testFolder.newFile("test.tmp"), "foo=baz\n");
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      Properties changed = changes.poll(30, TimeUnit.SECONDS);
+      assertThat(changed, notNullValue());
+      assertThat(changed.getProperty("foo"), is("baz"));
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.common;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import com.google.common.collect.Iterables;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link SafeIterable}.
+ */
+public class SafeIterableTest
+    extends TestSupport
+{
+  /**
+   * Lazily transformed iterable of 0..size-1 which fails for multiples of 3.
+   */
+  private static Iterable<Integer> records(final int size) {
+    List<Integer> source = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    return Iterables.transform(source, value -> {
+      if (value % 3 == 0) {
+        throw new IllegalArgumentException("corrupt: " + value);
+      }
+      return value;
+    });
+  }
+
+  @Test
+  public void iterator_skipsFailures() {
+    IterationFailures failures = new IterationFailures();
+    List<Integer> result = new ArrayList<>();
+    SafeIterable.of(records(7), failures).forEach(result::add);
+
+    assertThat(result, contains(1, 2, 4, 5));
+    assertThat(failures.getCount(), is(3L));
+    assertThat(failures.getCountsByType().get(IllegalArgumentException.class), is(3L));
+  }
+
+  @Test
+  public void iterator_hasNextIsIdempotent() {
+    SafeIterator<Integer> iter = SafeIterator.of(records(3));
+    assertThat(iter.hasNext(), is(true));
+    assertThat(iter.hasNext(), is(true));
+    assertThat(iter.next(), is(1));
+    assertThat(iter.next(), is(2));
+    assertThat(iter.hasNext(), is(false));
+  }
+
+  @Test
+  public void parallelStream_countsFailures() {
+    IterationFailures failures = new IterationFailures();
+    long sum = SafeIterable.of(records(30_000), failures).parallelStream()
+        .mapToLong(Integer::longValue)
+        .sum();
+
+    assertThat(failures.getCount(), is(10_000L));
+    long expected = IntStream.range(0, 30_000).filter(i -> i % 3 != 0).asLongStream().sum();
+    assertThat(sum, is(expected));
+  }
+
+  @Test
+  public void stream_collectionSource() {
+    List<Integer> source = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+    assertThat(SafeIterable.of(source).parallelStream().count(), is(100L));
+  }
+
+  @Test
+  public void parallelStream_collectionWithFailingIterator() {
+    Iterable<Integer> records = records(30_000);
+    Collection<Integer> source = new AbstractCollection<Integer>()
+    {
+      @Override
+      public Iterator<Integer> iterator() {
+        return records.iterator();
+      }
+
+      @Override
+      public int size() {
+        return 30_000;
+      }
+    };
+
+    IterationFailures failures = new IterationFailures();
+    long count = SafeIterable.of(source, failures).parallelStream().count();
+
+    assertThat(count, is(20_000L));
+    assertThat(failures.getCount(), is(10_000L));
+  }
+
+  @Test
+  public void failureLimit_abortsIteration() {
+    IterationFailures failures = new IterationFailures(2);
+    try {
+      SafeIterable.of(records(30), failures).stream().count();
+      fail();
+    }
+    catch (IllegalStateException e) {
+      assertThat(e.getCause() instanceof IllegalArgumentException, is(true));
+    }
+    assertThat(failures.getCount(), is(2L));
+  }
+}
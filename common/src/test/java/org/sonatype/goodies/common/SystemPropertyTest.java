@@ -12,6 +12,7 @@
  */
 package org.sonatype.goodies.common;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
@@ -131,4 +132,64 @@ public class SystemPropertyTest
     assertThat(result, hasItem("bar"));
     assertThat(result, hasItem("baz"));
   }
+
+  @Test
+  public void get_asLong() {
+    underTest.set("0x10");
+    assertThat(underTest.get(Long.class), is(16L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void get_asBoolean_invalid() {
+    underTest.set("yes");
+    underTest.get(Boolean.class);
+  }
+
+  @Test
+  public void cached_defaultAndValue() {
+    CachedSystemProperty<Integer> cached = underTest.cached(Integer.class, 5);
+    assertThat(cached.get(), is(5));
+    underTest.set("7");
+    assertThat(cached.get(), is(7));
+    underTest.remove();
+    assertThat(cached.get(), is(5));
+  }
+
+  @Test
+  public void cached_notifiesListeners() {
+    CachedSystemProperty<Integer> cached = underTest.cached(Integer.class, 1);
+    List<String> changes = new ArrayList<>();
+    cached.addListener((property, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+    assertThat(cached.get(), is(1));
+
+    cached.set(2);
+    assertThat(cached.get(), is(2));
+
+    // external change detected on refresh
+    underTest.set("3");
+    cached.refresh();
+
+    // same value does not notify
+    cached.set(3);
+
+    assertThat(changes, hasSize(2));
+    assertThat(changes, hasItem("1->2"));
+    assertThat(changes, hasItem("2->3"));
+  }
+
+  @Test
+  public void cached_failingListenerDoesNotAffectOthers() {
+    CachedSystemProperty<Integer> cached = underTest.cached(Integer.class, 1);
+    List<String> changes = new ArrayList<>();
+    cached.addListener((property, oldValue, newValue) -> {
+      throw new IllegalStateException("failing listener");
+    });
+    cached.addListener((property, oldValue, newValue) -> changes.add(oldValue + "->" + newValue));
+    assertThat(cached.get(), is(1));
+
+    cached.set(2);
+    assertThat(cached.get(), is(2));
+    assertThat(changes, hasSize(1));
+    assertThat(changes, hasItem("1->2"));
+  }
 }
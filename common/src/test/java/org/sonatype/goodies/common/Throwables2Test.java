@@ -83,4 +83,13 @@ public class Throwables2Test
       assertThat(e.getSuppressed()[1], is(bar));
     }
   }
+
+  @Test
+  public void stackless() {
+    StacklessException e = Throwables2.stackless("flow");
+    assertThat(e.getStackTrace(), arrayWithSize(0));
+    e.addSuppressed(new Exception("ignored"));
+    assertThat(e.getSuppressed(), arrayWithSize(0));
+    assertThat(Throwables2.explain(e), is("org.sonatype.goodies.common.StacklessException: flow"));
+  }
 }
@@ -107,4 +107,63 @@ public class TimeTest
     int n = Time.seconds(1).toMillisI();
     assertThat(n, equalTo(1000));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void parse_compound() throws Exception {
+    assertThat(Time.parse("1h30m"), equalTo(Time.minutes(90)));
+    assertThat(Time.parse("1 hour 30 minutes 15s"), equalTo(Time.seconds(5415)));
+  }
+
+  @Test
+  public void parse_fraction() throws Exception {
+    assertThat(Time.parse("1.5h"), equalTo(Time.minutes(90)));
+    assertThat(Time.parse("0.25s"), equalTo(Time.millis(250)));
+    assertThat(Time.parse("2.0 days"), equalTo(Time.days(2)));
+  }
+
+  @Test
+  public void parse_largeSingleUnit() throws Exception {
+    // beyond range of nanoseconds
+    assertThat(Time.parse("200000 days"), equalTo(Time.days(200000)));
+    assertThat(Time.parse("200000 days").getUnit(), equalTo(TimeUnit.DAYS));
+  }
+
+  @Test
+  public void parse_caseInsensitive() throws Exception {
+    assertThat(Time.parse("10MS"), equalTo(Time.millis(10)));
+  }
+
+  @Test
+  public void parseNanos() throws Exception {
+    assertThat(Time.parseNanos("1s"), equalTo(1_000_000_000L));
+    assertThat(Time.parseNanos("1m 1us"), equalTo(60_000_001_000L));
+    assertThat(Time.parseNanos(".5ns"), equalTo(0L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parse_missingUnit() throws Exception {
+    Time.parse("1h30");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parse_unknownUnit() throws Exception {
+    Time.parse("3 fortnights");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parse_empty() throws Exception {
+    Time.parse(" ");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parse_overflow() throws Exception {
+    Time.parseNanos("1000000 days");
+  }
+
+  @Test
+  public void parseCached() throws Exception {
+    Time time = Time.parseCached("5s");
+    assertThat(time, equalTo(Time.seconds(5)));
+    assertThat(Time.parseCached("5s") == time, equalTo(true));
+  }
+}
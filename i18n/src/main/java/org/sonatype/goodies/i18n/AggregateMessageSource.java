@@ -12,25 +12,46 @@
  */
 package org.sonatype.goodies.i18n;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
 
 import org.sonatype.goodies.common.ComponentSupport;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A message source which aggregates messages sources in order.
  *
+ * Runs of {@link ResourceBundleMessageSource} (and fully flattened nested aggregates) are merged into one immutable
+ * table of code to owning source, with first-wins precedence; when all sources merge, resolution is a single probe.
+ * Other sources are probed in order with {@link MessageSource#findMessage}, so resolution never throws until the
+ * aggregate itself misses.  Tables are discarded when {@link #getSources() sources} change, or when a merged source
+ * changes, and rebuilt on next lookup.
+ *
  * @since 1.0
  */
 public class AggregateMessageSource
     extends ComponentSupport
     implements MessageSource
 {
-  private final List<MessageSource> sources = Lists.newArrayList();
+  private final List<MessageSource> sources = new Sources();
+
+  /**
+   * Current resolution; {@code null} when sources have changed.
+   */
+  @Nullable
+  private volatile Resolution resolution;
+
+  private final Dependents dependents = new Dependents();
 
   public AggregateMessageSource(final List<MessageSource> sources) {
     checkNotNull(sources);
@@ -41,63 +62,220 @@ public class AggregateMessageSource
     this(Arrays.asList(sources));
   }
 
+  /**
+   * Returns the aggregated sources; changes are seen by subsequent lookups.
+   */
   public List<MessageSource> getSources() {
     return sources;
   }
 
-  @Override
-  public String getMessage(final String code) {
-    String result = null;
+  /**
+   * Source list which discards the current resolution on change.
+   */
+  private class Sources
+      extends AbstractList<MessageSource>
+  {
+    private final List<MessageSource> delegate = new ArrayList<>();
 
-    for (MessageSource source : sources) {
-      try {
-        result = source.getMessage(code);
-        if (result != null) {
-          break;
-        }
-      }
-      catch (ResourceNotFoundException e) {
-        log.trace(e.toString(), e);
-      }
+    @Override
+    public MessageSource get(final int index) {
+      return delegate.get(index);
     }
 
-    if (result == null) {
-      throw new ResourceNotFoundException(code);
+    @Override
+    public int size() {
+      return delegate.size();
     }
 
-    return result;
+    @Override
+    public MessageSource set(final int index, final MessageSource element) {
+      MessageSource previous = delegate.set(index, checkNotNull(element));
+      invalidate();
+      return previous;
+    }
+
+    @Override
+    public void add(final int index, final MessageSource element) {
+      delegate.add(index, checkNotNull(element));
+      invalidate();
+    }
+
+    @Override
+    public MessageSource remove(final int index) {
+      MessageSource previous = delegate.remove(index);
+      invalidate();
+      return previous;
+    }
   }
 
-  @Override
-  public String getMessage(final String code, final String defaultValue) {
-    try {
-      return getMessage(code);
+  /**
+   * Resolves the source which owns a code, or {@code null}.
+   */
+  private interface Resolver
+  {
+    @Nullable
+    MessageSource ownerOf(String code);
+  }
+
+  private static class TableResolver
+      implements Resolver
+  {
+    private final Map<String, MessageSource> owners;
+
+    private TableResolver(final Map<String, MessageSource> owners) {
+      this.owners = ImmutableMap.copyOf(owners);
     }
-    catch (ResourceNotFoundException e) {
-      return defaultValue;
+
+    @Nullable
+    @Override
+    public MessageSource ownerOf(final String code) {
+      return owners.get(code);
     }
   }
 
-  @Override
-  public String format(final String code, final Object... args) {
-    String result = null;
+  /**
+   * Resolvers built from a snapshot of sources.
+   */
+  private static class Resolution
+  {
+    private final List<Resolver> resolvers;
+
+    /**
+     * Owners of all codes; only when all sources were merged.
+     */
+    @Nullable
+    private final Map<String, MessageSource> owners;
 
-    for (MessageSource source : sources) {
-      try {
-        result = source.format(code, args);
-        if (result != null) {
-          break;
+    private Resolution(final AggregateMessageSource aggregate) {
+      ImmutableList.Builder<Resolver> resolvers = ImmutableList.builder();
+      Map<String, MessageSource> run = null;
+      boolean flattened = true;
+      for (MessageSource source : aggregate.sources) {
+        Map<String, ?> table = tableOf(source, aggregate);
+        if (table != null) {
+          if (run == null) {
+            run = new HashMap<>();
+          }
+          for (Map.Entry<String, ?> entry : table.entrySet()) {
+            // nested aggregate tables map to their owners, others to the source itself
+            Object value = entry.getValue();
+            run.putIfAbsent(entry.getKey(), value instanceof MessageSource ? (MessageSource) value : source);
+          }
+        }
+        else {
+          if (run != null) {
+            resolvers.add(new TableResolver(run));
+            run = null;
+          }
+          flattened = false;
+          resolvers.add(code -> source.findMessage(code) != null ? source : null);
         }
       }
-      catch (ResourceNotFoundException e) {
-        log.trace(e.toString(), e);
+      if (run != null) {
+        resolvers.add(new TableResolver(run));
       }
+      this.resolvers = resolvers.build();
+      this.owners = flattened ? ImmutableMap.copyOf(run != null ? run : ImmutableMap.of()) : null;
+    }
+  }
+
+  /**
+   * Returns current table of given source, if it can be flattened; else {@code null}.  The dependent is registered
+   * before the table is read, so any later change of the source invalidates it.
+   */
+  @Nullable
+  private static Map<String, ?> tableOf(final MessageSource source, final AggregateMessageSource dependent) {
+    if (source instanceof ResourceBundleMessageSource) {
+      ResourceBundleMessageSource bundles = (ResourceBundleMessageSource) source;
+      bundles.getDependents().add(dependent);
+      return bundles.getMessages();
+    }
+    if (source instanceof AggregateMessageSource) {
+      AggregateMessageSource nested = (AggregateMessageSource) source;
+      nested.dependents.add(dependent);
+      return nested.resolution().owners;
+    }
+    return null;
+  }
+
+  /**
+   * Discard current resolution, and that of every aggregate which merged it.
+   */
+  void invalidate() {
+    synchronized (this) {
+      resolution = null;
     }
+    dependents.invalidate();
+  }
 
+  private Resolution resolution() {
+    Resolution result = resolution;
     if (result == null) {
+      // invalidation waits for a build in progress, so a stale resolution is never kept
+      synchronized (this) {
+        result = resolution;
+        if (result == null) {
+          resolution = result = new Resolution(this);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private MessageSource ownerOf(final String code) {
+    checkNotNull(code);
+    Resolution current = resolution();
+    if (current.owners != null) {
+      return current.owners.get(code);
+    }
+    for (Resolver resolver : current.resolvers) {
+      MessageSource owner = resolver.ownerOf(code);
+      if (owner != null) {
+        return owner;
+      }
+    }
+    return null;
+  }
+
+  private MessageSource requireOwner(final String code) {
+    MessageSource owner = ownerOf(code);
+    if (owner == null) {
       throw new ResourceNotFoundException(code);
     }
+    return owner;
+  }
 
-    return result;
+  @Override
+  public String getMessage(final String code) {
+    return requireOwner(code).getMessage(code);
+  }
+
+  @Override
+  public String getMessage(final String code, final String defaultValue) {
+    String result = findMessage(code);
+    return result != null ? result : defaultValue;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Override
+  public String findMessage(final String code) {
+    MessageSource owner = ownerOf(code);
+    return owner != null ? owner.findMessage(code) : null;
+  }
+
+  @Override
+  public String format(final String code, final Object... args) {
+    return requireOwner(code).format(code, args);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Override
+  public void formatTo(final StringBuilder buff, final String code, final Object... args) {
+    requireOwner(code).formatTo(buff, code, args);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.Optional;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.sonatype.goodies.common.Loggers;
+import org.sonatype.goodies.common.SystemProperty;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Shared cache of {@link ResourceBundle}s for types, by locale.
+ *
+ * Bundles are cached per type via {@link ClassValue}, so the cache does not retain class-loaders; missing bundles are
+ * cached too.  Each type caches at most {@link #MAX_LOCALES} locales, configurable via
+ * {@code org.sonatype.goodies.i18n.BundleCache.maxLocales} system property, so client-supplied locales can not grow
+ * it without bound.  Lookup of a cached bundle is a single probe, avoiding {@link ResourceBundle#getBundle} cache-key
+ * construction and validation.
+ *
+ * {@link ResourceBundle#clearCache()} does not affect this cache; use {@link #clear(Class)} or {@link #clearAll()}.
+ * Sources already built from cached bundles keep them.
+ *
+ * @since 3.0.1
+ */
+public final class BundleCache
+{
+  private static final Logger log = Loggers.getLogger(BundleCache.class);
+
+  /**
+   * Maximum number of locales cached per type; also bounds per-locale caches built on bundles.
+   */
+  static final int MAX_LOCALES = maxLocales();
+
+  private static final class Bundles
+  {
+    private final Cache<Locale, Optional<ResourceBundle>> cache = CacheBuilder.newBuilder()
+        .maximumSize(MAX_LOCALES)
+        .build();
+
+    private volatile int generation;
+  }
+
+  private static final ClassValue<Bundles> bundles = new ClassValue<Bundles>()
+  {
+    @Override
+    protected Bundles computeValue(final Class<?> type) {
+      Bundles result = new Bundles();
+      result.generation = generation.get();
+      return result;
+    }
+  };
+
+  /**
+   * Incremented by {@link #clearAll()}; entries cached under an older generation are discarded on next access.
+   */
+  private static final AtomicInteger generation = new AtomicInteger();
+
+  private BundleCache() {
+    // empty
+  }
+
+  private static int maxLocales() {
+    SystemProperty property = new SystemProperty(BundleCache.class, "maxLocales");
+    return parseMaxLocales(property.name(), property.get());
+  }
+
+  /**
+   * Parse maximum locales property value; never throws, invalid or non-positive values are logged and fall back to 64.
+   */
+  @VisibleForTesting
+  static int parseMaxLocales(final String name, @Nullable final String value) {
+    int fallback = 64;
+    if (value == null) {
+      return fallback;
+    }
+    try {
+      int max = Integer.parseInt(value.trim());
+      if (max > 0) {
+        return max;
+      }
+    }
+    catch (NumberFormatException e) {
+      // fall through
+    }
+    log.warn("Invalid {}: {}; using: {}", name, value, fallback);
+    return fallback;
+  }
+
+  /**
+   * Returns bundle named after type for given locale, or {@code null} if there is no such bundle.
+   */
+  @Nullable
+  public static ResourceBundle get(final Class<?> type, final Locale locale) {
+    checkNotNull(type);
+    checkNotNull(locale);
+    Bundles holder = bundles.get(type);
+    int current = generation.get();
+    if (holder.generation != current) {
+      holder.cache.invalidateAll();
+      holder.generation = current;
+    }
+    Optional<ResourceBundle> bundle = holder.cache.getIfPresent(locale);
+    if (bundle == null) {
+      bundle = load(type, locale);
+      holder.cache.put(locale, bundle);
+    }
+    return bundle.orElse(null);
+  }
+
+  private static Optional<ResourceBundle> load(final Class<?> type, final Locale locale) {
+    try {
+      return Optional.of(ResourceBundle.getBundle(type.getName(), locale, type.getClassLoader()));
+    }
+    catch (MissingResourceException e) {
+      return Optional.empty();
+    }
+  }
+
+  @VisibleForTesting
+  static long size(final Class<?> type) {
+    return bundles.get(type).cache.size();
+  }
+
+  /**
+   * Discard all cached bundles for given type.
+   */
+  public static void clear(final Class<?> type) {
+    checkNotNull(type);
+    bundles.remove(type);
+  }
+
+  /**
+   * Discard all cached bundles.
+   *
+   * To re-read changed bundle resources also clear the {@link ResourceBundle} cache of their class-loaders; ie.
+   * {@link ResourceBundle#clearCache(ClassLoader)}.
+   */
+  public static void clearAll() {
+    generation.incrementAndGet();
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Aggregates which merged the messages of a source, and must be invalidated when the source changes.
+ *
+ * Aggregates are weakly referenced, so a long-lived source does not retain the aggregates built over it.
+ *
+ * @since 3.0.1
+ */
+final class Dependents
+{
+  private final Set<AggregateMessageSource> aggregates = Collections.newSetFromMap(new WeakHashMap<>());
+
+  synchronized void add(final AggregateMessageSource aggregate) {
+    aggregates.add(checkNotNull(aggregate));
+  }
+
+  /**
+   * Invalidate all dependent aggregates; called after the source has changed.
+   */
+  void invalidate() {
+    List<AggregateMessageSource> snapshot;
+    synchronized (this) {
+      if (aggregates.isEmpty()) {
+        return;
+      }
+      snapshot = new ArrayList<>(aggregates);
+    }
+    for (AggregateMessageSource aggregate : snapshot) {
+      aggregate.invalidate();
+    }
+  }
+}
@@ -15,11 +15,20 @@ package org.sonatype.goodies.i18n;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.annotation.Nullable;
 
 import org.sonatype.goodies.i18n.MessageBundle.DefaultMessage;
 import org.sonatype.goodies.i18n.MessageBundle.Key;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,12 +51,8 @@ public class I18N
     super();
   }
 
-  // TODO: Need to hook up dynamic access to locale so this stuff can be useful in reality
-  // TODO: Need to abstract access to the current threads Locale (could be gotten from servlet api, or from local jvm etc)
-  // TODO: Need to dynamically build/cache/whatever the resource bundles, not sure how expensive it is to look it up each time
-
   /**
-   * Returns a {@link MessageSource} for the given types.
+   * Returns a {@link MessageSource} for the given types, in the default locale.
    *
    * @param types One or more classes
    * @return {@link MessageSource} instance; never null
@@ -58,6 +63,21 @@ public class I18N
     return new ResourceBundleMessageSource().add(/* bundle is not required */ false, types);
   }
 
+  /**
+   * Returns a {@link MessageSource} for the given types, resolving the locale per call.
+   *
+   * @param localeProvider Provides the locale to resolve messages for
+   * @param types One or more classes
+   * @return {@link MessageSource} instance; never null
+   * @since 3.0.1
+   */
+  public static LocaleMessageSource of(final LocaleProvider localeProvider, final Class<?>... types) {
+    checkNotNull(localeProvider);
+    checkNotNull(types);
+    checkArgument(types.length > 0);
+    return new LocaleMessageSource(localeProvider, /* bundle is not required */ false, types);
+  }
+
   /**
    * Returns a proxy to the given {@link MessageBundle} type.
    *
@@ -65,73 +85,126 @@ public class I18N
    */
   @SuppressWarnings({"unchecked"})
   public static <T extends MessageBundle> T create(final Class<T> type) {
+    return create(type, LocaleProvider.DEFAULT);
+  }
+
+  /**
+   * Returns a proxy to the given {@link MessageBundle} type, resolving the locale per call.
+   *
+   * @return {@link MessageBundle} proxy; never null
+   * @since 3.0.1
+   */
+  @SuppressWarnings({"unchecked"})
+  public static <T extends MessageBundle> T create(final Class<T> type, final LocaleProvider localeProvider) {
     checkNotNull(type);
-    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new Handler(type));
+    checkNotNull(localeProvider);
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type}, new Handler(type, localeProvider));
+  }
+
+  /**
+   * Message method metadata, by bundle type; computed once per type.
+   */
+  private static final ClassValue<Map<Method, MethodInfo>> methods = new ClassValue<Map<Method, MethodInfo>>()
+  {
+    @Override
+    protected Map<Method, MethodInfo> computeValue(final Class<?> type) {
+      ImmutableMap.Builder<Method, MethodInfo> builder = ImmutableMap.builder();
+      for (Method method : type.getMethods()) {
+        if (method.getReturnType() == String.class) {
+          builder.put(method, new MethodInfo(method));
+        }
+      }
+      return builder.build();
+    }
+  };
+
+  /**
+   * Message key and default message of a {@link MessageBundle} method.
+   */
+  private static class MethodInfo
+  {
+    private final String key;
+
+    @Nullable
+    private final String defaultMessage;
+
+    private MethodInfo(final Method method) {
+      Key key = method.getAnnotation(Key.class);
+      this.key = key != null ? key.value() : method.getName();
+      DefaultMessage defaultMessage = method.getAnnotation(DefaultMessage.class);
+      this.defaultMessage = defaultMessage != null ? defaultMessage.value() : null;
+    }
   }
 
   /**
    * Proxy invocation handler to convert method calls into message lookup/format.
+   *
+   * Message formats for all bundle methods are resolved once per locale.
    */
   private static class Handler
       implements InvocationHandler
   {
     private final Class<? extends MessageBundle> type;
 
-    private final MessageSource messages;
+    private final Map<Method, MethodInfo> methods;
 
-    public Handler(final Class<? extends MessageBundle> type) {
+    private final LocaleProvider localeProvider;
+
+    /**
+     * Resolved and compiled formats, by locale and format locale; methods without a message or default are absent.
+     */
+    private final Cache<Entry<Locale, Locale>, Map<Method, MessageTemplate>> formats = CacheBuilder.newBuilder()
+        .maximumSize(BundleCache.MAX_LOCALES)
+        .build();
+
+    public Handler(final Class<? extends MessageBundle> type, final LocaleProvider localeProvider) {
       this.type = checkNotNull(type);
-      this.messages = I18N.of(type);
+      this.methods = I18N.methods.get(type);
+      this.localeProvider = checkNotNull(localeProvider);
     }
 
-    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-      if (method.getDeclaringClass() == Object.class) {
-        return method.invoke(this, args);
-      }
-      else if (method.getReturnType() != String.class) {
-        throw new Error("Illegal MessageBundle method: " + method);
+    private Map<Method, MessageTemplate> formats(final Locale locale, final Locale formatLocale) {
+      Entry<Locale, Locale> key = Maps.immutableEntry(locale, formatLocale);
+      Map<Method, MessageTemplate> result = formats.getIfPresent(key);
+      if (result == null) {
+        result = compile(locale, formatLocale);
+        formats.put(key, result);
       }
+      return result;
+    }
 
-      // TODO: Optimize/cache
-
-      String key = getKey(method);
-      String format = getFormat(key);
-
-      if (format == null) {
-        DefaultMessage defaultMessage = method.getAnnotation(DefaultMessage.class);
-        if (defaultMessage != null) {
-          format = defaultMessage.value();
+    private Map<Method, MessageTemplate> compile(final Locale locale, final Locale formatLocale) {
+      MessageSource messages = new ResourceBundleMessageSource(locale).add(false, type);
+      ImmutableMap.Builder<Method, MessageTemplate> builder = ImmutableMap.builder();
+      for (Entry<Method, MethodInfo> entry : methods.entrySet()) {
+        MethodInfo info = entry.getValue();
+        String format = messages.getMessage(info.key, info.defaultMessage);
+        if (format != null) {
+          builder.put(entry.getKey(), MessageTemplate.compile(format, formatLocale));
         }
       }
+      return builder.build();
+    }
 
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      MessageTemplate format = formats(localeProvider.getLocale(), localeProvider.getFormatLocale()).get(method);
       if (format == null) {
-        log.warn("Missing message for: {}, key: {}", type, key);
-        return String.format(MISSING_MESSAGE_FORMAT, key);
+        if (method.getDeclaringClass() == Object.class) {
+          return method.invoke(this, args);
+        }
+        MethodInfo info = methods.get(method);
+        if (info == null) {
+          throw new Error("Illegal MessageBundle method: " + method);
+        }
+        log.warn("Missing message for: {}, key: {}", type, info.key);
+        return String.format(MISSING_MESSAGE_FORMAT, info.key);
       }
 
       if (args != null) {
         // TODO: Support annotation-configuration of formatting method?
-        return String.format(format, args);
-      }
-      return format;
-    }
-
-    private String getFormat(final String key) {
-      try {
-        return messages.getMessage(key);
-      }
-      catch (ResourceNotFoundException e) {
-        log.trace("Missing resource for: {}, key: {}", type, key);
-        return null;
-      }
-    }
-
-    private String getKey(final Method method) {
-      Key key = method.getAnnotation(Key.class);
-      if (key != null) {
-        return key.value();
+        return format.format(args);
       }
-      return method.getName();
+      return format.getPattern();
     }
   }
 }
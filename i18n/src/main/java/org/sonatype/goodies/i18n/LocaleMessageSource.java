@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Message source which resolves the locale per call.
+ *
+ * A {@link ResourceBundleMessageSource} is built per locale and format locale, from {@link BundleCache}, and kept in a
+ * bounded cache; compiled message templates are therefore cached per locale and code.
+ *
+ * @since 3.0.1
+ */
+public class LocaleMessageSource
+    implements MessageSource
+{
+  private final LocaleProvider localeProvider;
+
+  private final ImmutableList<Class<?>> types;
+
+  private final boolean required;
+
+  /**
+   * Sources by locale and format locale.
+   */
+  private final Cache<Map.Entry<Locale, Locale>, ResourceBundleMessageSource> sources = CacheBuilder.newBuilder()
+      .maximumSize(BundleCache.MAX_LOCALES)
+      .build();
+
+  public LocaleMessageSource(final LocaleProvider localeProvider, final boolean required, final Class<?>... types) {
+    this.localeProvider = checkNotNull(localeProvider);
+    this.types = ImmutableList.copyOf(checkNotNull(types));
+    this.required = required;
+  }
+
+  public LocaleMessageSource(final LocaleProvider localeProvider, final Class<?>... types) {
+    this(localeProvider, true, types);
+  }
+
+  public LocaleProvider getLocaleProvider() {
+    return localeProvider;
+  }
+
+  /**
+   * Returns source for the current locale.
+   */
+  public ResourceBundleMessageSource current() {
+    return get(localeProvider.getLocale(), localeProvider.getFormatLocale());
+  }
+
+  /**
+   * Returns source for given locale, formatting with the same locale.
+   */
+  public ResourceBundleMessageSource get(final Locale locale) {
+    return get(locale, locale);
+  }
+
+  /**
+   * Returns source for given locale, formatting with given format locale.
+   */
+  public ResourceBundleMessageSource get(final Locale locale, final Locale formatLocale) {
+    checkNotNull(locale);
+    checkNotNull(formatLocale);
+    Map.Entry<Locale, Locale> key = Maps.immutableEntry(locale, formatLocale);
+    ResourceBundleMessageSource source = sources.getIfPresent(key);
+    if (source == null) {
+      source = new ResourceBundleMessageSource(locale).add(required, types.toArray(new Class<?>[0]));
+      source.setFormatLocale(formatLocale);
+      ResourceBundleMessageSource existing = sources.asMap().putIfAbsent(key, source);
+      if (existing != null) {
+        source = existing;
+      }
+    }
+    return source;
+  }
+
+  @Override
+  public String getMessage(final String code) {
+    return current().getMessage(code);
+  }
+
+  @Override
+  public String getMessage(final String code, @Nullable final String defaultValue) {
+    return current().getMessage(code, defaultValue);
+  }
+
+  @Override
+  public String findMessage(final String code) {
+    return current().findMessage(code);
+  }
+
+  @Override
+  public String format(final String code, final Object... args) {
+    return current().format(code, args);
+  }
+
+  @Override
+  public void formatTo(final StringBuilder buff, final String code, final Object... args) {
+    current().formatTo(buff, code, args);
+  }
+}
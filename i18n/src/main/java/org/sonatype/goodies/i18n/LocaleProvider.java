@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.Locale;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Provides the locale to resolve messages for.
+ *
+ * @see LocaleMessageSource
+ * @since 3.0.1
+ */
+public interface LocaleProvider
+{
+  Locale getLocale();
+
+  /**
+   * Locale to format message arguments with; defaults to {@link #getLocale()}.
+   */
+  default Locale getFormatLocale() {
+    return getLocale();
+  }
+
+  /**
+   * Provides the current JVM default locales; messages in the default locale, formatted with the default
+   * {@link Locale.Category#FORMAT} locale, as {@link String#format(String, Object...)} does.
+   */
+  LocaleProvider DEFAULT = new LocaleProvider()
+  {
+    @Override
+    public Locale getLocale() {
+      return Locale.getDefault();
+    }
+
+    @Override
+    public Locale getFormatLocale() {
+      return Locale.getDefault(Locale.Category.FORMAT);
+    }
+  };
+
+  static LocaleProvider fixed(final Locale locale) {
+    checkNotNull(locale);
+    return () -> locale;
+  }
+}
@@ -28,8 +28,28 @@ public interface MessageSource
 
   String getMessage(String code, @Nullable String defaultValue);
 
+  /**
+   * Returns message for code, or {@code null} if there is no such message; never throws {@link ResourceNotFoundException}.
+   *
+   * @since 3.0.1
+   */
+  @Nullable
+  default String findMessage(String code) {
+    return getMessage(code, null);
+  }
+
   /**
    * @throws ResourceNotFoundException
    */
   String format(String code, Object... args);
+
+  /**
+   * Format message into given buffer.
+   *
+   * @throws ResourceNotFoundException
+   * @since 3.0.1
+   */
+  default void formatTo(StringBuilder buff, String code, Object... args) {
+    buff.append(format(code, args));
+  }
 }
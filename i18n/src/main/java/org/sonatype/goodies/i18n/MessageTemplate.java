@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.math.BigInteger;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Pre-parsed {@link String#format} message pattern.
+ *
+ * Patterns using only {@code %s}, {@code %d} (optionally with explicit {@code n$} index), {@code %%} and {@code %n}
+ * are parsed once into literal and argument segments and rendered without {@link java.util.Formatter}.  Patterns
+ * using any other format specifier are rendered with {@link String#format(Locale, String, Object...)}.  Both produce
+ * the same output.
+ *
+ * @since 3.0.1
+ */
+public final class MessageTemplate
+{
+  private interface Segment
+  {
+    void appendTo(StringBuilder buff, Object[] args);
+  }
+
+  private final String pattern;
+
+  private final Locale locale;
+
+  /**
+   * Parsed segments; {@code null} if pattern requires {@link java.util.Formatter}.
+   */
+  @Nullable
+  private final Segment[] segments;
+
+  private MessageTemplate(final String pattern, final Locale locale, @Nullable final Segment[] segments) {
+    this.pattern = pattern;
+    this.locale = locale;
+    this.segments = segments;
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  public Locale getLocale() {
+    return locale;
+  }
+
+  public String format(@Nullable final Object... args) {
+    if (segments == null) {
+      return String.format(locale, pattern, args);
+    }
+    StringBuilder buff = new StringBuilder(pattern.length() + 16);
+    formatTo(buff, args);
+    return buff.toString();
+  }
+
+  /**
+   * Render into given buffer.
+   */
+  public void formatTo(final StringBuilder buff, @Nullable final Object... args) {
+    checkNotNull(buff);
+    if (segments == null) {
+      buff.append(String.format(locale, pattern, args));
+      return;
+    }
+    Object[] values = args == null ? NO_ARGS : args;
+    for (Segment segment : segments) {
+      segment.appendTo(buff, values);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+  //
+  // Compilation
+  //
+
+  private static final Object[] NO_ARGS = {};
+
+  public static MessageTemplate compile(final String pattern, final Locale locale) {
+    checkNotNull(pattern);
+    checkNotNull(locale);
+    return new MessageTemplate(pattern, locale, parse(pattern, locale));
+  }
+
+  /**
+   * Explicit argument indexes with more digits may not fit an {@code int}.
+   */
+  private static final int MAX_INDEX_DIGITS = 9;
+
+  /**
+   * Parse pattern into segments, or return {@code null} if it uses unsupported specifiers.
+   */
+  @Nullable
+  private static Segment[] parse(final String pattern, final Locale locale) {
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+    boolean asciiDigits = symbols.getZeroDigit() == '0' && symbols.getMinusSign() == '-';
+    List<Segment> segments = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int ordinary = 0;
+    int length = pattern.length();
+    int i = 0;
+    while (i < length) {
+      char c = pattern.charAt(i++);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      if (i == length) {
+        return null;
+      }
+
+      // optional explicit argument index: digits followed by '$'
+      int index = -1;
+      int j = i;
+      while (j < length && pattern.charAt(j) >= '0' && pattern.charAt(j) <= '9') {
+        j++;
+      }
+      if (j > i && j < length && pattern.charAt(j) == '$') {
+        if (j - i > MAX_INDEX_DIGITS) {
+          // beyond int range; String.format reports the illegal index
+          return null;
+        }
+        index = Integer.parseInt(pattern, i, j, 10) - 1;
+        if (index < 0) {
+          return null;
+        }
+        i = j + 1;
+        if (i == length) {
+          return null;
+        }
+      }
+
+      char conversion = pattern.charAt(i++);
+      switch (conversion) {
+        case '%':
+        case 'n':
+          if (index != -1) {
+            return null;
+          }
+          literal.append(conversion == '%' ? "%" : System.lineSeparator());
+          continue;
+        case 's':
+        case 'd':
+          break;
+        default:
+          // flags, width, precision or other conversions
+          return null;
+      }
+
+      if (literal.length() > 0) {
+        segments.add(new Literal(literal.toString()));
+        literal.setLength(0);
+      }
+      int argument = index == -1 ? ordinary++ : index;
+      String spec = "%" + conversion;
+      if (conversion == 's') {
+        segments.add(new StringArgument(argument, spec, locale));
+      }
+      else {
+        segments.add(new IntegerArgument(argument, spec, locale, asciiDigits));
+      }
+    }
+    if (literal.length() > 0) {
+      segments.add(new Literal(literal.toString()));
+    }
+    return segments.toArray(new Segment[0]);
+  }
+
+  //
+  // Segments
+  //
+
+  private static final class Literal
+      implements Segment
+  {
+    private final String text;
+
+    private Literal(final String text) {
+      this.text = text;
+    }
+
+    @Override
+    public void appendTo(final StringBuilder buff, final Object[] args) {
+      buff.append(text);
+    }
+  }
+
+  private abstract static class Argument
+      implements Segment
+  {
+    private final int index;
+
+    private final String spec;
+
+    private final Locale locale;
+
+    private Argument(final int index, final String spec, final Locale locale) {
+      this.index = index;
+      this.spec = spec;
+      this.locale = locale;
+    }
+
+    @Override
+    public void appendTo(final StringBuilder buff, final Object[] args) {
+      if (index >= args.length) {
+        throw new MissingFormatArgumentException(spec);
+      }
+      Object value = args[index];
+      if (value == null) {
+        buff.append("null");
+      }
+      else if (!append(buff, value)) {
+        // let formatter handle (or reject) value
+        buff.append(String.format(locale, spec, value));
+      }
+    }
+
+    /**
+     * Append value directly, returning {@code false} if value requires {@link java.util.Formatter}.
+     */
+    abstract boolean append(StringBuilder buff, Object value);
+  }
+
+  private static final class StringArgument
+      extends Argument
+  {
+    private StringArgument(final int index, final String spec, final Locale locale) {
+      super(index, spec, locale);
+    }
+
+    @Override
+    boolean append(final StringBuilder buff, final Object value) {
+      if (value instanceof Formattable) {
+        return false;
+      }
+      buff.append(value);
+      return true;
+    }
+  }
+
+  private static final class IntegerArgument
+      extends Argument
+  {
+    private final boolean asciiDigits;
+
+    private IntegerArgument(final int index, final String spec, final Locale locale, final boolean asciiDigits) {
+      super(index, spec, locale);
+      this.asciiDigits = asciiDigits;
+    }
+
+    @Override
+    boolean append(final StringBuilder buff, final Object value) {
+      if (!asciiDigits) {
+        return false;
+      }
+      if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+        buff.append(((Number) value).longValue());
+        return true;
+      }
+      if (value instanceof BigInteger) {
+        buff.append(value);
+        return true;
+      }
+      return false;
+    }
+  }
+}
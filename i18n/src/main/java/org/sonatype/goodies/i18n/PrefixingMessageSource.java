@@ -46,8 +46,18 @@ public class PrefixingMessageSource
     return messages.getMessage(createCode(code), defaultValue);
   }
 
+  @Override
+  public String findMessage(final String code) {
+    return messages.findMessage(createCode(code));
+  }
+
   @Override
   public String format(final String code, final Object... args) {
     return messages.format(createCode(code), args);
   }
+
+  @Override
+  public void formatTo(final StringBuilder buff, final String code, final Object... args) {
+    messages.formatTo(buff, createCode(code), args);
+  }
 }
\ No newline at end of file
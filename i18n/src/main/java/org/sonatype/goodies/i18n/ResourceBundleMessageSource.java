@@ -12,15 +12,20 @@
  */
 package org.sonatype.goodies.i18n;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nullable;
 
 import org.sonatype.goodies.common.ComponentSupport;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -38,6 +43,22 @@ public class ResourceBundleMessageSource
 
   private final Locale locale;
 
+  /**
+   * Messages of all bundles, merged in order; built on first lookup and discarded when bundles are added.
+   */
+  @Nullable
+  private volatile Map<String, String> messages;
+
+  private final Dependents dependents = new Dependents();
+
+  /**
+   * Compiled message templates by code.
+   */
+  private final ConcurrentMap<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+
+  @Nullable
+  private volatile Locale formatLocale;
+
   public ResourceBundleMessageSource(final Locale locale) {
     this.locale = checkNotNull(locale);
   }
@@ -51,21 +72,40 @@ public class ResourceBundleMessageSource
     return locale;
   }
 
+  /**
+   * @since 3.0.1
+   */
+  @Nullable
+  public Locale getFormatLocale() {
+    return formatLocale;
+  }
+
+  /**
+   * Set the locale messages are formatted with; when {@code null} (the default) messages are formatted with the
+   * current default {@link Locale.Category#FORMAT} locale, as {@link String#format(String, Object...)} does.
+   *
+   * @since 3.0.1
+   */
+  public void setFormatLocale(@Nullable final Locale formatLocale) {
+    this.formatLocale = formatLocale;
+  }
+
   public ResourceBundleMessageSource add(final boolean required, final Class<?>... types) {
     checkNotNull(types);
 
     for (Class<?> type : types) {
-      try {
-        ResourceBundle bundle = ResourceBundle.getBundle(type.getName(), locale, type.getClassLoader());
+      ResourceBundle bundle = BundleCache.get(type, locale);
+      if (bundle != null) {
         bundles.add(bundle);
       }
-      catch (MissingResourceException e) {
-        if (required) {
-          throw e;
-        }
+      else if (required) {
+        throw new MissingResourceException("Can't find bundle for base name " + type.getName() + ", locale " + locale,
+            type.getName() + "_" + locale, "");
       }
     }
 
+    messages = null;
+    dependents.invalidate();
     return this;
   }
 
@@ -73,48 +113,107 @@ public class ResourceBundleMessageSource
     return add(true, types);
   }
 
+  /**
+   * Returns messages of all bundles; where bundles share a code the first added bundle wins.
+   *
+   * @since 3.0.1
+   */
+  public Map<String, String> getMessages() {
+    Map<String, String> result = messages;
+    if (result == null) {
+      Map<String, String> merged = new HashMap<>();
+      for (ResourceBundle bundle : bundles) {
+        for (String key : bundle.keySet()) {
+          Object value = bundle.getObject(key);
+          if (value instanceof String) {
+            merged.putIfAbsent(key, (String) value);
+          }
+        }
+      }
+      messages = result = ImmutableMap.copyOf(merged);
+    }
+    return result;
+  }
+
+  /**
+   * Aggregates to invalidate when bundles are added.
+   */
+  Dependents getDependents() {
+    return dependents;
+  }
+
   /**
    * Get a raw message from the resource bundles using the given code.
    */
   @Override
   public String getMessage(final String code) {
-    checkNotNull(code);
-
-    for (ResourceBundle bundle : bundles) {
-      try {
-        return bundle.getString(code);
-      }
-      catch (MissingResourceException e) {
-        log.trace(e.toString(), e);
-      }
+    String result = findMessage(code);
+    if (result == null) {
+      throw new ResourceNotFoundException(code);
     }
-
-    throw new ResourceNotFoundException(code);
+    return result;
   }
 
   @Override
   public String getMessage(final String code, final String defaultValue) {
-    try {
-      return getMessage(code);
-    }
-    catch (ResourceNotFoundException e) {
-      return defaultValue;
-    }
+    String result = findMessage(code);
+    return result != null ? result : defaultValue;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Override
+  public String findMessage(final String code) {
+    checkNotNull(code);
+    return getMessages().get(code);
   }
 
   /**
    * Format a message (based on {@link String#format} using the message
    * from the resource bundles using the given code as a pattern and the
    * given objects as arguments.
+   *
+   * Patterns are compiled once per code and format locale into a {@link MessageTemplate}.
+   *
+   * @see #setFormatLocale(Locale)
    */
   @Override
   public String format(final String code, final @Nullable Object... args) {
-    String pattern = getMessage(code);
+    MessageTemplate template = getTemplate(code);
     if (args != null) {
-      return String.format(pattern, args);
+      return template.format(args);
     }
     else {
-      return pattern;
+      return template.getPattern();
+    }
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Override
+  public void formatTo(final StringBuilder buff, final String code, final @Nullable Object... args) {
+    MessageTemplate template = getTemplate(code);
+    if (args != null) {
+      template.formatTo(buff, args);
+    }
+    else {
+      buff.append(template.getPattern());
+    }
+  }
+
+  private MessageTemplate getTemplate(final String code) {
+    Locale target = formatLocale;
+    if (target == null) {
+      target = Locale.getDefault(Locale.Category.FORMAT);
+    }
+    MessageTemplate template = templates.get(code);
+    if (template == null || !template.getLocale().equals(target)) {
+      // resolve outside of compute, as missing codes throw
+      template = MessageTemplate.compile(getMessage(code), target);
+      templates.put(code, template);
     }
+    return template;
   }
 }
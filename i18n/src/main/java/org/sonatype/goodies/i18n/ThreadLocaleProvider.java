@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.Locale;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Provides a locale bound to the current thread, falling back to another provider when unset.
+ *
+ * Typically bound per-request:
+ *
+ * <pre>
+ * try (ThreadLocaleProvider.Scope scope = provider.bind(requestLocale)) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * @since 3.0.1
+ */
+public class ThreadLocaleProvider
+    implements LocaleProvider
+{
+  private final ThreadLocal<Locale> current = new ThreadLocal<>();
+
+  private final LocaleProvider fallback;
+
+  public ThreadLocaleProvider(final LocaleProvider fallback) {
+    this.fallback = checkNotNull(fallback);
+  }
+
+  public ThreadLocaleProvider() {
+    this(DEFAULT);
+  }
+
+  @Override
+  public Locale getLocale() {
+    Locale locale = current.get();
+    return locale != null ? locale : fallback.getLocale();
+  }
+
+  @Override
+  public Locale getFormatLocale() {
+    Locale locale = current.get();
+    return locale != null ? locale : fallback.getFormatLocale();
+  }
+
+  /**
+   * Restores the previously bound locale on close.
+   */
+  public final class Scope
+      implements AutoCloseable
+  {
+    @Nullable
+    private final Locale previous;
+
+    private Scope(@Nullable final Locale previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      if (previous == null) {
+        current.remove();
+      }
+      else {
+        current.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Bind locale to the current thread until returned scope is closed.
+   */
+  public Scope bind(final Locale locale) {
+    checkNotNull(locale);
+    Scope scope = new Scope(current.get());
+    current.set(locale);
+    return scope;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link AggregateMessageSource}.
+ */
+public class AggregateMessageSourceTest
+    extends TestSupport
+{
+  private static ResourceBundleMessageSource bundle(final Class<?> type) {
+    return new ResourceBundleMessageSource(Locale.ENGLISH).add(type);
+  }
+
+  @Test
+  public void testFirstSourceWins() {
+    MessageSource messages = new AggregateMessageSource(
+        bundle(LocaleMessageSourceTest.class),
+        bundle(ResourceBundleMessageSourceTest.class)
+    );
+
+    assertThat(messages.getMessage("greeting"), is("hello"));
+    assertThat(messages.getMessage("a"), is("1"));
+    assertThat(messages.format("f", "x"), is("x!"));
+  }
+
+  @Test
+  public void testMissing() {
+    MessageSource messages = new AggregateMessageSource(bundle(ResourceBundleMessageSourceTest.class));
+
+    assertThat(messages.findMessage("no-such-code"), nullValue());
+    assertThat(messages.getMessage("no-such-code", "foo"), is("foo"));
+    try {
+      messages.getMessage("no-such-code");
+      fail();
+    }
+    catch (ResourceNotFoundException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testMixedSources() {
+    MessageSource messages = new AggregateMessageSource(
+        bundle(ResourceBundleMessageSourceTest.class),
+        new PrefixingMessageSource(bundle(LocaleMessageSourceTest.class), "gree"),
+        bundle(LocaleMessageSourceTest.class)
+    );
+
+    assertThat(messages.getMessage("ting"), is("hello"));
+    assertThat(messages.format("f", "x", "y", "z"), is("x y z"));
+    assertThat(messages.getMessage("greeting"), is("hello"));
+  }
+
+  @Test
+  public void testDeepAggregate() {
+    List<MessageSource> sources = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      sources.add(new AggregateMessageSource(bundle(LocaleMessageSourceTest.class)));
+    }
+    sources.add(bundle(ResourceBundleMessageSourceTest.class));
+    MessageSource messages = new AggregateMessageSource(sources);
+
+    assertThat(messages.getMessage("c"), is("3"));
+    assertThat(messages.getMessage("greeting"), is("hello"));
+    assertThat(messages.findMessage("no-such-code"), nullValue());
+  }
+
+  @Test
+  public void testSourcesAddedLater() {
+    AggregateMessageSource messages = new AggregateMessageSource(bundle(ResourceBundleMessageSourceTest.class));
+    assertThat(messages.findMessage("greeting"), nullValue());
+
+    messages.getSources().add(bundle(LocaleMessageSourceTest.class));
+    assertThat(messages.getMessage("greeting"), is("hello"));
+
+    messages.getSources().remove(1);
+    assertThat(messages.findMessage("greeting"), nullValue());
+  }
+
+  @Test
+  public void testBundlesAddedToSourceLater() {
+    ResourceBundleMessageSource source = bundle(ResourceBundleMessageSourceTest.class);
+    MessageSource messages = new AggregateMessageSource(new AggregateMessageSource(source));
+    assertThat(messages.findMessage("greeting"), nullValue());
+
+    source.add(LocaleMessageSourceTest.class);
+    assertThat(messages.getMessage("greeting"), is("hello"));
+  }
+
+  @Test
+  public void testNestedSourcesAddedLater() {
+    AggregateMessageSource nested = new AggregateMessageSource(bundle(ResourceBundleMessageSourceTest.class));
+    MessageSource messages = new AggregateMessageSource(nested);
+    assertThat(messages.findMessage("greeting"), nullValue());
+
+    nested.getSources().add(bundle(LocaleMessageSourceTest.class));
+    assertThat(messages.getMessage("greeting"), is("hello"));
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.util.Locale;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link LocaleMessageSource}.
+ */
+public class LocaleMessageSourceTest
+    extends TestSupport
+{
+  private ThreadLocaleProvider localeProvider;
+
+  private LocaleMessageSource messages;
+
+  @Before
+  public void setUp() {
+    localeProvider = new ThreadLocaleProvider(LocaleProvider.fixed(Locale.ENGLISH));
+    messages = new LocaleMessageSource(localeProvider, getClass());
+  }
+
+  @Test
+  public void testLocalePerCall() {
+    assertThat(messages.getMessage("greeting"), is("hello"));
+
+    try (ThreadLocaleProvider.Scope scope = localeProvider.bind(Locale.FRENCH)) {
+      assertThat(messages.getMessage("greeting"), is("bonjour"));
+      // falls back to base bundle
+      assertThat(messages.format("f", "x"), is("x!"));
+    }
+
+    assertThat(messages.getMessage("greeting"), is("hello"));
+  }
+
+  @Test
+  public void testNestedScopes() {
+    try (ThreadLocaleProvider.Scope outer = localeProvider.bind(Locale.FRENCH)) {
+      try (ThreadLocaleProvider.Scope inner = localeProvider.bind(Locale.ENGLISH)) {
+        assertThat(localeProvider.getLocale(), is(Locale.ENGLISH));
+      }
+      assertThat(localeProvider.getLocale(), is(Locale.FRENCH));
+    }
+    assertThat(localeProvider.getLocale(), is(Locale.ENGLISH));
+  }
+
+  @Test
+  public void testSourcePerLocaleReused() {
+    assertThat(messages.get(Locale.FRENCH), sameInstance(messages.get(Locale.FRENCH)));
+  }
+
+  @Test
+  public void testBundleCacheIsBounded() {
+    for (int i = 0; i < BundleCache.MAX_LOCALES * 4; i++) {
+      // ie. client supplied locales
+      BundleCache.get(getClass(), Locale.forLanguageTag("en-x-r" + i));
+    }
+    assertThat(BundleCache.size(getClass()) <= BundleCache.MAX_LOCALES, is(true));
+
+    BundleCache.clearAll();
+    BundleCache.get(getClass(), Locale.FRENCH);
+    assertThat(BundleCache.size(getClass()), is(1L));
+  }
+
+  @Test
+  public void testBundleCache() {
+    assertThat(BundleCache.get(getClass(), Locale.FRENCH), sameInstance(BundleCache.get(getClass(), Locale.FRENCH)));
+    assertThat(BundleCache.get(MessageBundleTest.class, Locale.FRENCH), nullValue());
+  }
+
+  @Test
+  public void testInvalidMaxLocalesFallsBack() {
+    assertThat(BundleCache.parseMaxLocales("test", null), is(64));
+    assertThat(BundleCache.parseMaxLocales("test", "16"), is(16));
+    assertThat(BundleCache.parseMaxLocales("test", "many"), is(64));
+    assertThat(BundleCache.parseMaxLocales("test", "0"), is(64));
+    assertThat(BundleCache.parseMaxLocales("test", "-1"), is(64));
+  }
+}
@@ -12,6 +12,8 @@
  */
 package org.sonatype.goodies.i18n;
 
+import java.util.Locale;
+
 import org.sonatype.goodies.testsupport.TestSupport;
 
 import org.junit.Before;
@@ -37,6 +39,13 @@ public class MessageBundleTest
 
     String testMissing();
 
+    @DefaultMessage("n:%d")
+    String testWithNumber(int n);
+
+    @Key("custom.key")
+    @DefaultMessage("keyed:%s")
+    String testWithKey(String a);
+
     Object testInvalid();
   }
 
@@ -60,6 +69,18 @@ public class MessageBundleTest
     assertEquals("s:foo,i:1", msg);
   }
 
+  @Test
+  public void testFormatsWithDefaultFormatLocale() {
+    Locale previous = Locale.getDefault(Locale.Category.FORMAT);
+    Locale.setDefault(Locale.Category.FORMAT, Locale.forLanguageTag("th-TH-u-nu-thai"));
+    try {
+      assertEquals(String.format("n:%d", 123), messages.testWithNumber(123));
+    }
+    finally {
+      Locale.setDefault(Locale.Category.FORMAT, previous);
+    }
+  }
+
   @Test
   public void testMissing() {
     String msg = messages.testMissing();
@@ -70,4 +91,16 @@ public class MessageBundleTest
   public void testInvalid() {
     messages.testInvalid();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testKeyedMessageRepeated() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals("keyed:" + i, messages.testWithKey(String.valueOf(i)));
+    }
+  }
+
+  @Test
+  public void testObjectMethods() {
+    assertNotNull(messages.toString());
+  }
+}
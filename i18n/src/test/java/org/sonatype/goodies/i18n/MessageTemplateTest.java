@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.i18n;
+
+import java.math.BigInteger;
+import java.util.IllegalFormatConversionException;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MessageTemplate}.
+ */
+public class MessageTemplateTest
+    extends TestSupport
+{
+  private static void assertFormat(final String pattern, final Object... args) {
+    assertFormat(Locale.ENGLISH, pattern, args);
+  }
+
+  private static void assertFormat(final Locale locale, final String pattern, final Object... args) {
+    MessageTemplate template = MessageTemplate.compile(pattern, locale);
+    assertEquals(String.format(locale, pattern, args), template.format(args));
+
+    StringBuilder buff = new StringBuilder("prefix:");
+    template.formatTo(buff, args);
+    assertEquals("prefix:" + String.format(locale, pattern, args), buff.toString());
+  }
+
+  @Test
+  public void simple() {
+    assertFormat("no arguments");
+    assertFormat("%s and %s", "foo", "bar");
+    assertFormat("%d items, %s", 42, null);
+    assertFormat("%d %d %d", -7L, (short) 3, new BigInteger("123456789012345678901234567890"));
+    assertFormat("100%% done%n");
+  }
+
+  @Test
+  public void explicitIndexes() {
+    assertFormat("%2$s %1$s %s %s", "a", "b");
+  }
+
+  @Test
+  public void fallbackSpecifiers() {
+    assertFormat("%-5s|%05d|%.2f|%S|%x", "ab", 42, 3.14159, "up", 255);
+    assertFormat("%s %<s", "again");
+  }
+
+  @Test
+  public void localizedDigits() {
+    assertFormat(Locale.forLanguageTag("th-TH-u-nu-thai"), "%d", 123);
+  }
+
+  @Test(expected = MissingFormatArgumentException.class)
+  public void missingArgument() {
+    MessageTemplate.compile("%s %s", Locale.ENGLISH).format("one");
+  }
+
+  @Test(expected = IllegalFormatConversionException.class)
+  public void illegalConversion() {
+    MessageTemplate.compile("%d", Locale.ENGLISH).format("text");
+  }
+
+  @Test(expected = IllegalFormatException.class)
+  public void indexOverflowFallsBack() {
+    // compiles; String.format reports the illegal index
+    MessageTemplate template = MessageTemplate.compile("%99999999999$s", Locale.ENGLISH);
+    template.format("one");
+  }
+}
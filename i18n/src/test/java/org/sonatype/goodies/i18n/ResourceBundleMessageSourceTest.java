@@ -12,6 +12,8 @@
  */
 package org.sonatype.goodies.i18n;
 
+import java.util.Locale;
+
 import org.sonatype.goodies.testsupport.TestSupport;
 
 import org.junit.Before;
@@ -62,4 +64,22 @@ public class ResourceBundleMessageSourceTest
     String msg = messages.getMessage("no-such-code", "foo");
     assertEquals("foo", msg);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testFormatTo() {
+    StringBuilder buff = new StringBuilder();
+    messages.formatTo(buff, "f", "x", "y", "z");
+    messages.formatTo(buff, "f", 1, 2, 3);
+    assertEquals("x y z1 2 3", buff.toString());
+  }
+
+  @Test
+  public void testFormatLocale() {
+    Locale thai = Locale.forLanguageTag("th-TH-u-nu-thai");
+    ResourceBundleMessageSource source = new ResourceBundleMessageSource(getClass());
+    assertEquals(String.format("%d", 123), source.format("d", 123));
+
+    source.setFormatLocale(thai);
+    assertEquals(String.format(thai, "%d", 123), source.format("d", 123));
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.lifecycle;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Component life-cycle with non-blocking transitions.
+ *
+ * For components whose start or stop is naturally asynchronous (ie. network-bound); see
+ * {@link Lifecycles#startAll} and {@link Lifecycles#stopAll} to fan out over a mix of asynchronous and blocking
+ * components.
+ *
+ * @since 3.0.1
+ */
+public interface AsyncLifecycle
+{
+  CompletableFuture<Void> startAsync();
+
+  CompletableFuture<Void> stopAsync();
+}
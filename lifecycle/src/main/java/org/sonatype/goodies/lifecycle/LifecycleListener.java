@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.lifecycle;
+
+/**
+ * {@link Lifecycle} transition listener.
+ *
+ * Receives timing of each transition; {@code lockWaitNanos} is the time spent waiting for a concurrent transition
+ * of the same component to complete and {@code durationNanos} the time spent performing the transition.
+ *
+ * Listeners are invoked on the thread performing the transition and should return quickly.
+ *
+ * @since 3.0.1
+ */
+public interface LifecycleListener
+{
+  default void started(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+    // empty
+  }
+
+  default void stopped(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+    // empty
+  }
+
+  /**
+   * @param operation Either {@code start} or {@code stop}.
+   */
+  default void failed(final Lifecycle component,
+                      final String operation,
+                      final long lockWaitNanos,
+                      final long durationNanos,
+                      final Throwable cause)
+  {
+    // empty
+  }
+}
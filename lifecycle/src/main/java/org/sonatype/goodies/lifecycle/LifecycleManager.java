@@ -12,18 +12,51 @@
  */
 package org.sonatype.goodies.lifecycle;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
+import javax.annotation.Nullable;
+
+import org.sonatype.goodies.common.ConcurrentMultipleFailures;
 import org.sonatype.goodies.common.MultipleFailures;
 import org.sonatype.goodies.common.MultipleFailures.MultipleFailuresException;
 
 import com.google.common.collect.Lists;
+import com.google.common.math.LongMath;
+import com.google.common.util.concurrent.MoreExecutors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Manages a set of {@link Lifecycle} components.
  *
+ * Components may declare dependencies on other managed components with {@link #dependsOn(Lifecycle, Lifecycle...)}.
+ * When an {@link Executor} is configured, independent components are started and stopped concurrently.
+ *
+ * Component listeners added with {@link #addComponentListener} are notified of every managed component transition.
+ *
+ * Stop first drains all {@link Drainable} components concurrently, then stops components; overall and per-component
+ * stop deadlines may be configured so that a hung component can not block shutdown.
+ *
  * @since 2.0.1
  */
 public class LifecycleManager
@@ -31,10 +64,73 @@ public class LifecycleManager
 {
   private final CopyOnWriteArrayList<Lifecycle> components = new CopyOnWriteArrayList<>();
 
+  private final Map<Lifecycle, Set<Lifecycle>> dependencies = new ConcurrentHashMap<>();
+
+  @Nullable
+  private volatile Executor executor;
+
+  @Nullable
+  private volatile Duration stopTimeout;
+
+  @Nullable
+  private volatile Duration componentStopTimeout;
+
+  private final List<LifecycleListener> componentListeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Forwards transitions reported by {@link LifecycleSupport} components to component listeners.
+   */
+  private final LifecycleListener dispatcher = new LifecycleListener()
+  {
+    @Override
+    public void started(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+      for (LifecycleListener listener : componentListeners) {
+        try {
+          listener.started(component, lockWaitNanos, durationNanos);
+        }
+        catch (Exception e) {
+          log.warn("Component listener failed: {}", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void stopped(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+      for (LifecycleListener listener : componentListeners) {
+        try {
+          listener.stopped(component, lockWaitNanos, durationNanos);
+        }
+        catch (Exception e) {
+          log.warn("Component listener failed: {}", listener, e);
+        }
+      }
+    }
+
+    @Override
+    public void failed(final Lifecycle component,
+                       final String operation,
+                       final long lockWaitNanos,
+                       final long durationNanos,
+                       final Throwable cause)
+    {
+      for (LifecycleListener listener : componentListeners) {
+        try {
+          listener.failed(component, operation, lockWaitNanos, durationNanos, cause);
+        }
+        catch (Exception e) {
+          log.warn("Component listener failed: {}", listener, e);
+        }
+      }
+    }
+  };
+
   public void add(final Lifecycle component) {
     checkNotNull(component);
     boolean added = components.addIfAbsent(component);
     if (added) {
+      if (component instanceof LifecycleSupport) {
+        ((LifecycleSupport) component).addListener(dispatcher);
+      }
       log.trace("Added: {}", component);
     }
   }
@@ -57,6 +153,10 @@ public class LifecycleManager
     checkNotNull(component);
     boolean removed = components.remove(component);
     if (removed) {
+      if (component instanceof LifecycleSupport) {
+        ((LifecycleSupport) component).removeListener(dispatcher);
+      }
+      dependencies.remove(component);
       log.trace("Removed: {}", component);
     }
   }
@@ -80,57 +180,470 @@ public class LifecycleManager
   }
 
   public void clear() {
+    for (Lifecycle component : components) {
+      if (component instanceof LifecycleSupport) {
+        ((LifecycleSupport) component).removeListener(dispatcher);
+      }
+    }
     components.clear();
+    dependencies.clear();
     log.trace("Cleared");
   }
 
+  /**
+   * Declare that given component depends on given dependencies.
+   *
+   * Dependencies are started before, and stopped after, the dependent component.  Dependencies which are not managed
+   * at the time of start or stop are ignored.  If a dependency fails to start then the dependent component is skipped.
+   *
+   * @since 3.0.1
+   */
+  public void dependsOn(final Lifecycle component, final Lifecycle... dependencies) {
+    checkNotNull(component);
+    checkNotNull(dependencies);
+    Set<Lifecycle> required = this.dependencies.computeIfAbsent(component, key -> new CopyOnWriteArraySet<>());
+    for (Lifecycle dependency : dependencies) {
+      checkNotNull(dependency);
+      checkArgument(dependency != component, "Component can not depend on itself: %s", component);
+      if (required.add(dependency)) {
+        log.trace("Added dependency: {} -> {}", component, dependency);
+      }
+    }
+  }
+
+  /**
+   * @since 3.0.1
+   * @see #dependsOn(Lifecycle, Lifecycle...)
+   */
+  public void dependsOn(final LifecycleAware component, final LifecycleAware... dependencies) {
+    checkNotNull(component);
+    checkNotNull(dependencies);
+    for (LifecycleAware dependency : dependencies) {
+      dependsOn(component.getLifecycle(), dependency.getLifecycle());
+    }
+  }
+
+  /**
+   * Add listener to be notified of transition timing for each managed component.
+   *
+   * {@link LifecycleSupport} components report their own transitions, including lock-wait time; other components
+   * are timed by the manager and report no lock-wait.
+   *
+   * @since 3.0.1
+   */
+  public void addComponentListener(final LifecycleListener listener) {
+    checkNotNull(listener);
+    componentListeners.add(listener);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public void removeComponentListener(final LifecycleListener listener) {
+    checkNotNull(listener);
+    componentListeners.remove(listener);
+  }
+
+  /**
+   * Set the executor used to start and stop components concurrently.
+   *
+   * When {@code null} (the default) components are started and stopped sequentially on the calling thread.
+   * Callers own the executor; typically a bounded pool or a virtual-thread-per-task executor.
+   *
+   * @since 3.0.1
+   */
+  public void setExecutor(@Nullable final Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Nullable
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Set the overall deadline for stop, covering both drain and stop phases.
+   *
+   * Components which have not completed by the deadline are reported as failures and any of their dependencies which
+   * have not yet been stopped are skipped.  When {@code null} (the default) stop waits for all components.
+   *
+   * @since 3.0.1
+   */
+  public void setStopTimeout(@Nullable final Duration stopTimeout) {
+    this.stopTimeout = stopTimeout;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Nullable
+  public Duration getStopTimeout() {
+    return stopTimeout;
+  }
+
+  /**
+   * Set the deadline for each individual component to drain or stop.
+   *
+   * Components which overrun are reported as failures and no longer block the stop of their dependencies.
+   * When {@code null} (the default) each component may take as long as it needs.
+   *
+   * @since 3.0.1
+   */
+  public void setComponentStopTimeout(@Nullable final Duration componentStopTimeout) {
+    this.componentStopTimeout = componentStopTimeout;
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  @Nullable
+  public Duration getComponentStopTimeout() {
+    return componentStopTimeout;
+  }
+
   /**
    * Start all managed components.
    *
-   * Components are started in the order added.
+   * Components are started in the order added, after any of their dependencies.
    *
    * @throws MultipleFailuresException
    */
   @Override
   protected void doStart() throws Exception {
-    int count = components.size();
+    List<Lifecycle> ordered = ordered();
+    int count = ordered.size();
     log.debug("Starting {} components", count);
 
-    MultipleFailures failures = new MultipleFailures(count);
-    for (Lifecycle component : components) {
-      try {
-        component.start();
-      }
-      catch (Throwable failure) {
-        logTransitionFailure("Failed to start component: " + component, failure);
-        failures.add(failure);
+    Executor target = executor;
+    if (target == null) {
+      target = MoreExecutors.directExecutor();
+    }
+    TransitionFailures failures = new TransitionFailures();
+    long started = System.nanoTime();
+
+    Map<Lifecycle, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+    for (Lifecycle component : ordered) {
+      Map<Lifecycle, CompletableFuture<Boolean>> required = new LinkedHashMap<>();
+      for (Lifecycle dependency : managedDependencies(component, ordered)) {
+        required.put(dependency, futures.get(dependency));
       }
+      futures.put(component, schedule(component, "start", required.values(), () -> {
+        for (Entry<Lifecycle, CompletableFuture<Boolean>> entry : required.entrySet()) {
+          if (!entry.getValue().join()) {
+            Exception failure = new IllegalStateException("Dependency failed to start: " + entry.getKey());
+            logTransitionFailure("Skipped starting component: " + component, failure);
+            failures.add(failure);
+            return false;
+          }
+        }
+        return transition(component, true, failures);
+      }, target, null, failures));
     }
-    failures.maybePropagate("Failed to start " + failures.size() + " components");
+    await(futures, "start", Long.MAX_VALUE, failures);
+
+    log.debug("Started {} components in {} ms", count, NANOSECONDS.toMillis(System.nanoTime() - started));
+    failures.maybePropagate("start");
   }
 
   /**
    * Stop all managed components.
    *
-   * Stop order is reverse of start order.
+   * {@link Drainable} components are drained concurrently first.  Stop order is reverse of start order; components
+   * are stopped before any of their dependencies.
    *
    * @throws MultipleFailuresException
    */
   @Override
   protected void doStop() throws Exception {
-    int count = components.size();
+    List<Lifecycle> ordered = ordered();
+    int count = ordered.size();
     log.debug("Stopping {} components", count);
 
-    MultipleFailures failures = new MultipleFailures(count);
-    for (Lifecycle component : Lists.reverse(components)) {
-      try {
+    // invert dependencies, a component may only stop once all of its dependents have stopped
+    Map<Lifecycle, List<Lifecycle>> dependents = new LinkedHashMap<>();
+    for (Lifecycle component : ordered) {
+      for (Lifecycle dependency : managedDependencies(component, ordered)) {
+        dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(component);
+      }
+    }
+
+    Duration timeout = stopTimeout;
+    Duration componentTimeout = componentStopTimeout;
+    boolean bounded = timeout != null || componentTimeout != null;
+    long deadline = timeout != null
+        ? LongMath.saturatedAdd(System.nanoTime(), NANOSECONDS.convert(timeout))
+        : Long.MAX_VALUE;
+
+    // draining is always concurrent, and deadlines can only be enforced off the calling thread
+    ExecutorService temporary = null;
+    Executor target = executor;
+    if (target == null && (bounded || ordered.stream().anyMatch(Drainable.class::isInstance))) {
+      temporary = Executors.newVirtualThreadPerTaskExecutor();
+      target = temporary;
+    }
+    else if (target == null) {
+      target = MoreExecutors.directExecutor();
+    }
+
+    try {
+      TransitionFailures failures = new TransitionFailures();
+      long started = System.nanoTime();
+
+      drain(ordered, target, componentTimeout, deadline, failures);
+
+      Map<Lifecycle, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+      for (Lifecycle component : Lists.reverse(ordered)) {
+        List<CompletableFuture<Boolean>> required = new ArrayList<>();
+        for (Lifecycle dependent : dependents.getOrDefault(component, List.of())) {
+          required.add(futures.get(dependent));
+        }
+        futures.put(component, schedule(component, "stop", required, () -> {
+          // skip components whose turn came after the overall deadline
+          return !failures.isClosed() && transition(component, false, failures);
+        }, target, componentTimeout, failures));
+      }
+      await(futures, "stop", deadline, failures);
+
+      log.debug("Stopped {} components in {} ms", count, NANOSECONDS.toMillis(System.nanoTime() - started));
+      failures.maybePropagate("stop");
+    }
+    finally {
+      if (temporary != null) {
+        // do not wait for abandoned components
+        temporary.shutdown();
+      }
+    }
+  }
+
+  /**
+   * Drain all drainable components concurrently.
+   */
+  private void drain(final List<Lifecycle> ordered,
+                     final Executor target,
+                     @Nullable final Duration componentTimeout,
+                     final long deadline,
+                     final TransitionFailures failures)
+  {
+    Map<Lifecycle, CompletableFuture<Boolean>> futures = new LinkedHashMap<>();
+    for (Lifecycle component : ordered) {
+      if (component instanceof Drainable) {
+        futures.put(component, schedule(component, "drain", List.of(), () -> {
+          long started = System.nanoTime();
+          try {
+            ((Drainable) component).drain();
+            log.debug("Drained component: {} in {} ms", component, NANOSECONDS.toMillis(System.nanoTime() - started));
+            return true;
+          }
+          catch (Throwable failure) {
+            logTransitionFailure("Failed to drain component: " + component, failure);
+            failures.add(failure);
+            return false;
+          }
+        }, target, componentTimeout, failures));
+      }
+    }
+    if (!futures.isEmpty()) {
+      log.debug("Draining {} components", futures.size());
+      await(futures, "drain", deadline, failures);
+    }
+  }
+
+  /**
+   * Returns managed components in start order; add order with dependencies moved before their dependents.
+   */
+  private List<Lifecycle> ordered() {
+    List<Lifecycle> snapshot = new ArrayList<>(components);
+    if (dependencies.isEmpty()) {
+      return snapshot;
+    }
+
+    List<Lifecycle> result = new ArrayList<>(snapshot.size());
+    Set<Lifecycle> visiting = new HashSet<>();
+    Set<Lifecycle> visited = new HashSet<>();
+    for (Lifecycle component : snapshot) {
+      visit(component, snapshot, visiting, visited, result);
+    }
+    return result;
+  }
+
+  private void visit(final Lifecycle component,
+                     final List<Lifecycle> snapshot,
+                     final Set<Lifecycle> visiting,
+                     final Set<Lifecycle> visited,
+                     final List<Lifecycle> result)
+  {
+    if (visited.contains(component)) {
+      return;
+    }
+    if (!visiting.add(component)) {
+      throw new IllegalStateException("Dependency cycle detected at component: " + component);
+    }
+    for (Lifecycle dependency : managedDependencies(component, snapshot)) {
+      visit(dependency, snapshot, visiting, visited, result);
+    }
+    visiting.remove(component);
+    visited.add(component);
+    result.add(component);
+  }
+
+  /**
+   * Returns dependencies of component which are managed, in managed order.
+   */
+  private List<Lifecycle> managedDependencies(final Lifecycle component, final List<Lifecycle> managed) {
+    Set<Lifecycle> required = dependencies.get(component);
+    if (required == null || required.isEmpty()) {
+      return List.of();
+    }
+    List<Lifecycle> result = new ArrayList<>(required.size());
+    for (Lifecycle candidate : managed) {
+      if (required.contains(candidate)) {
+        result.add(candidate);
+      }
+    }
+    return result;
+  }
+
+  private interface Step
+  {
+    boolean run();
+  }
+
+  /**
+   * Schedule step to run on target executor once all required futures have completed.
+   *
+   * With a direct executor the step runs on the calling thread, preserving sequential ordering.  Returned futures
+   * never complete exceptionally; scheduling failures and timeouts are recorded and complete with {@code false}.
+   */
+  private CompletableFuture<Boolean> schedule(final Lifecycle component,
+                                              final String operation,
+                                              final Collection<CompletableFuture<Boolean>> required,
+                                              final Step step,
+                                              final Executor target,
+                                              @Nullable final Duration timeout,
+                                              final TransitionFailures failures)
+  {
+    return CompletableFuture.allOf(required.toArray(new CompletableFuture[0]))
+        .thenCompose(ignore -> {
+          CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(step::run, target);
+          return timeout != null ? future.orTimeout(NANOSECONDS.convert(timeout), NANOSECONDS) : future;
+        })
+        .exceptionally(failure -> {
+          Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+              ? failure.getCause()
+              : failure;
+          if (cause instanceof TimeoutException) {
+            cause = new TimeoutException("Timed out waiting to " + operation + " component: " + component);
+          }
+          logTransitionFailure("Failed to " + operation + " component: " + component, cause);
+          failures.add(cause);
+          return false;
+        });
+  }
+
+  /**
+   * Wait for all futures, until given deadline; components which have not completed by then are recorded as failed.
+   */
+  private void await(final Map<Lifecycle, CompletableFuture<Boolean>> futures,
+                     final String operation,
+                     final long deadline,
+                     final TransitionFailures failures)
+  {
+    CompletableFuture<Void> all = CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]));
+    try {
+      if (deadline == Long.MAX_VALUE) {
+        all.join();
+      }
+      else {
+        all.get(Math.max(0, deadline - System.nanoTime()), NANOSECONDS);
+      }
+    }
+    catch (TimeoutException e) {
+      for (Entry<Lifecycle, CompletableFuture<Boolean>> entry : futures.entrySet()) {
+        if (!entry.getValue().isDone()) {
+          Exception failure = new TimeoutException("Deadline exceeded waiting to " + operation + " component: " +
+              entry.getKey());
+          logTransitionFailure("Abandoned " + operation + " of component: " + entry.getKey(), failure);
+          failures.add(failure);
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failures.add(e);
+    }
+    catch (ExecutionException e) {
+      // not expected, scheduled futures never complete exceptionally
+      failures.add(e.getCause());
+    }
+  }
+
+  /**
+   * Start or stop component, recording failures and timing.
+   */
+  private boolean transition(final Lifecycle component, final boolean start, final TransitionFailures failures) {
+    // LifecycleSupport components notify component listeners themselves via dispatcher
+    boolean notify = !(component instanceof LifecycleSupport) && !componentListeners.isEmpty();
+    long started = System.nanoTime();
+    try {
+      if (start) {
+        component.start();
+      }
+      else {
         component.stop();
       }
-      catch (Throwable failure) {
-        logTransitionFailure("Failed to stop component: " + component, failure);
-        failures.add(failure);
+      long elapsed = System.nanoTime() - started;
+      log.debug("{} component: {} in {} ms", start ? "Started" : "Stopped", component, NANOSECONDS.toMillis(elapsed));
+      if (notify) {
+        if (start) {
+          dispatcher.started(component, 0, elapsed);
+        }
+        else {
+          dispatcher.stopped(component, 0, elapsed);
+        }
+      }
+      return true;
+    }
+    catch (Throwable failure) {
+      long elapsed = System.nanoTime() - started;
+      logTransitionFailure("Failed to " + (start ? "start" : "stop") + " component: " + component, failure);
+      failures.add(failure);
+      if (notify) {
+        dispatcher.failed(component, start ? "start" : "stop", 0, elapsed, failure);
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Failures collected by a single start or stop.
+   *
+   * Failures may be added concurrently by executor threads.  Once propagated, failures from abandoned components
+   * are only logged.
+   */
+  private final class TransitionFailures
+  {
+    private final MultipleFailures failures = new ConcurrentMultipleFailures(Integer.MAX_VALUE, false);
+
+    private volatile boolean closed;
+
+    public void add(final Throwable failure) {
+      if (closed) {
+        log.debug("Ignoring failure after completion", failure);
+        return;
       }
+      failures.add(failure);
+    }
+
+    public boolean isClosed() {
+      return closed;
+    }
+
+    public void maybePropagate(final String operation) throws MultipleFailuresException {
+      closed = true;
+      failures.maybePropagate("Failed to " + operation + " " + failures.size() + " components");
     }
-    failures.maybePropagate("Failed to stop " + failures.size() + " components");
   }
 }
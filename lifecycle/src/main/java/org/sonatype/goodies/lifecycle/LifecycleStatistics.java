@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.lifecycle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * {@link LifecycleListener} which collects per-component transition statistics.
+ *
+ * Register on {@link LifecycleSupport#addListener} or {@link LifecycleManager#addComponentListener} and use
+ * {@link #slowestStarts(int)} or {@link #report(int)} to find the components which dominate start time.
+ *
+ * @since 3.0.1
+ */
+public class LifecycleStatistics
+    implements LifecycleListener
+{
+  /**
+   * Statistics for a single component.
+   */
+  public static class Entry
+  {
+    private final Lifecycle component;
+
+    private volatile long lastStartNanos;
+
+    private volatile long lastStopNanos;
+
+    private final LongAdder lockWaitNanos = new LongAdder();
+
+    private final LongAdder starts = new LongAdder();
+
+    private final LongAdder stops = new LongAdder();
+
+    private final LongAdder failures = new LongAdder();
+
+    private Entry(final Lifecycle component) {
+      this.component = component;
+    }
+
+    public Lifecycle getComponent() {
+      return component;
+    }
+
+    /**
+     * Duration of the last successful start.
+     */
+    public long getLastStartNanos() {
+      return lastStartNanos;
+    }
+
+    /**
+     * Duration of the last successful stop.
+     */
+    public long getLastStopNanos() {
+      return lastStopNanos;
+    }
+
+    /**
+     * Total time spent waiting for concurrent transitions to complete.
+     */
+    public long getLockWaitNanos() {
+      return lockWaitNanos.sum();
+    }
+
+    public long getStarts() {
+      return starts.sum();
+    }
+
+    public long getStops() {
+      return stops.sum();
+    }
+
+    public long getFailures() {
+      return failures.sum();
+    }
+
+    @Override
+    public String toString() {
+      return component + "{" +
+          "start=" + NANOSECONDS.toMillis(lastStartNanos) + "ms" +
+          ", stop=" + NANOSECONDS.toMillis(lastStopNanos) + "ms" +
+          ", lockWait=" + NANOSECONDS.toMillis(getLockWaitNanos()) + "ms" +
+          ", starts=" + getStarts() +
+          ", stops=" + getStops() +
+          ", failures=" + getFailures() +
+          '}';
+    }
+  }
+
+  private final ConcurrentMap<Lifecycle, Entry> entries = new ConcurrentHashMap<>();
+
+  private Entry entry(final Lifecycle component) {
+    checkNotNull(component);
+    return entries.computeIfAbsent(component, Entry::new);
+  }
+
+  @Override
+  public void started(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+    Entry entry = entry(component);
+    entry.lastStartNanos = durationNanos;
+    entry.lockWaitNanos.add(lockWaitNanos);
+    entry.starts.increment();
+  }
+
+  @Override
+  public void stopped(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+    Entry entry = entry(component);
+    entry.lastStopNanos = durationNanos;
+    entry.lockWaitNanos.add(lockWaitNanos);
+    entry.stops.increment();
+  }
+
+  @Override
+  public void failed(final Lifecycle component,
+                     final String operation,
+                     final long lockWaitNanos,
+                     final long durationNanos,
+                     final Throwable cause)
+  {
+    Entry entry = entry(component);
+    entry.lockWaitNanos.add(lockWaitNanos);
+    entry.failures.increment();
+  }
+
+  /**
+   * Returns statistics for given component, or {@code null} if no transitions have been recorded.
+   */
+  public Entry get(final Lifecycle component) {
+    checkNotNull(component);
+    return entries.get(component);
+  }
+
+  public List<Entry> getEntries() {
+    return new ArrayList<>(entries.values());
+  }
+
+  /**
+   * Returns up to {@code limit} entries ranked by last start duration, slowest first.
+   */
+  public List<Entry> slowestStarts(final int limit) {
+    return slowest(limit, Comparator.comparingLong(Entry::getLastStartNanos));
+  }
+
+  /**
+   * Returns up to {@code limit} entries ranked by last stop duration, slowest first.
+   */
+  public List<Entry> slowestStops(final int limit) {
+    return slowest(limit, Comparator.comparingLong(Entry::getLastStopNanos));
+  }
+
+  private List<Entry> slowest(final int limit, final Comparator<Entry> comparator) {
+    checkArgument(limit >= 0);
+    List<Entry> result = getEntries();
+    result.sort(comparator.reversed());
+    return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+  }
+
+  /**
+   * Render a report of up to {@code limit} components ranked by start duration, slowest first.
+   */
+  public String report(final int limit) {
+    StringBuilder buff = new StringBuilder();
+    buff.append("Slowest starting components:");
+    int rank = 1;
+    for (Entry entry : slowestStarts(limit)) {
+      buff.append(System.lineSeparator()).append(String.format("%4d. %s", rank++, entry));
+    }
+    return buff.toString();
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+}
@@ -12,37 +12,80 @@
  */
 package org.sonatype.goodies.lifecycle;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Arrays;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 import org.sonatype.goodies.common.ComponentSupport;
+import org.sonatype.goodies.common.LockTimeoutException;
 import org.sonatype.goodies.common.Locks;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Support for {@link Lifecycle} implementations.
  *
+ * Transitions are guarded by a compare-and-set on the current state; callers racing an in-progress transition wait
+ * for it to complete and then re-check the state.  State queries are a single volatile read.
+ *
  * @since 1.0
  */
 public class LifecycleSupport
     extends ComponentSupport
     implements Lifecycle
 {
-  private final Lock lock = new ReentrantLock();
+  private static final VarHandle CURRENT;
+
+  static {
+    try {
+      CURRENT = MethodHandles.lookup().findVarHandle(LifecycleSupport.class, "current", State.class);
+    }
+    catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
 
   @VisibleForTesting
   enum State
   {
-    NEW, STARTED, STOPPED, FAILED
+    NEW, STARTING, STARTED, STOPPING, STOPPED, FAILED
   }
 
   private volatile State current = State.NEW;
 
+  /**
+   * In-progress transition; only meaningful while {@link #current} is {@code STARTING} or {@code STOPPING}.
+   */
+  private volatile Transition transition;
+
+  private final List<LifecycleListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Add listener to be notified of transition timing.
+   *
+   * @since 3.0.1
+   */
+  public void addListener(final LifecycleListener listener) {
+    checkNotNull(listener);
+    listeners.add(listener);
+  }
+
+  /**
+   * @since 3.0.1
+   */
+  public void removeListener(final LifecycleListener listener) {
+    checkNotNull(listener);
+    listeners.remove(listener);
+  }
+
   /**
    * Log transition messages.
    *
@@ -70,18 +113,74 @@ public class LifecycleSupport
   }
 
   /**
-   * Ensure current state is one of allowed states.
-   *
-   * Must be called within scope of lock.
+   * Ensure given state is one of allowed states.
    */
-  private void ensure(final State... allowed) {
+  private static void ensure(final State state, final State... allowed) {
     for (State allow : allowed) {
-      if (current == allow) {
+      if (state == allow) {
         return;
       }
     }
 
-    throw new IllegalStateException("Invalid state: " + current + "; allowed: " + Arrays.toString(allowed));
+    throw new IllegalStateException("Invalid state: " + state + "; allowed: " + Arrays.toString(allowed));
+  }
+
+  //
+  // Transitions
+  //
+
+  private static final class Transition
+  {
+    private final Thread owner = Thread.currentThread();
+
+    private final CountDownLatch done = new CountDownLatch(1);
+  }
+
+  /**
+   * Move from one of the allowed states to given transitional state, waiting for any in-progress transition.
+   *
+   * @return the state the transition started from
+   */
+  private State begin(final Transition next, final State target, final State... allowed) throws InterruptedException {
+    while (true) {
+      State state = current;
+      if (state == State.STARTING || state == State.STOPPING) {
+        await(state);
+        continue;
+      }
+      ensure(state, allowed);
+      if (CURRENT.compareAndSet(this, state, target)) {
+        transition = next;
+        return state;
+      }
+    }
+  }
+
+  /**
+   * Wait for in-progress transition to complete.
+   */
+  private void await(final State state) throws InterruptedException {
+    Transition pending = transition;
+    if (pending == null || pending.done.getCount() == 0) {
+      // winner of the state change has not yet published its transition
+      Thread.onSpinWait();
+      return;
+    }
+    if (pending.owner == Thread.currentThread()) {
+      throw new IllegalStateException("Invalid state: " + state + "; transition in progress on current thread");
+    }
+    // wait as long as the lock this state machine replaced would have
+    if (!pending.done.await(NANOSECONDS.convert(Locks.DEFAULT_TIMEOUT), NANOSECONDS)) {
+      throw new LockTimeoutException("Failed to await transition after " + Locks.DEFAULT_TIMEOUT);
+    }
+  }
+
+  /**
+   * Complete transition; if state was left transitional (ie. {@link #doFailed} did not fail) restore previous state.
+   */
+  private void end(final Transition completed, final State transitional, final State previous) {
+    CURRENT.compareAndSet(this, transitional, previous);
+    completed.done.countDown();
   }
 
   //
@@ -90,22 +189,23 @@ public class LifecycleSupport
 
   @Override
   public final void start() throws Exception {
-    ensure(State.NEW, State.STOPPED); // check state before taking lock
-    Locks.lock(lock);
+    Transition next = new Transition();
+    long requested = System.nanoTime();
+    State previous = begin(next, State.STARTING, State.NEW, State.STOPPED);
+    long acquired = System.nanoTime();
     try {
-      ensure(State.NEW, State.STOPPED); // check again now we have lock
-      try {
-        logTransition("Starting");
-        doStart();
-        current = State.STARTED;
-        logTransition("Started");
-      }
-      catch (Throwable failure) {
-        doFailed("start", failure);
-      }
+      logTransition("Starting");
+      doStart();
+      current = State.STARTED;
+      logTransition("Started");
+      fireStarted(acquired - requested, System.nanoTime() - acquired);
+    }
+    catch (Throwable failure) {
+      fireFailed("start", acquired - requested, System.nanoTime() - acquired, failure);
+      doFailed("start", failure);
     }
     finally {
-      lock.unlock();
+      end(next, State.STARTING, previous);
     }
   }
 
@@ -127,22 +227,23 @@ public class LifecycleSupport
 
   @Override
   public final void stop() throws Exception {
-    ensure(State.STARTED); // check state before taking lock
-    Locks.lock(lock);
+    Transition next = new Transition();
+    long requested = System.nanoTime();
+    State previous = begin(next, State.STOPPING, State.STARTED);
+    long acquired = System.nanoTime();
     try {
-      ensure(State.STARTED); // check again now we have lock
-      try {
-        logTransition("Stopping");
-        doStop();
-        current = State.STOPPED;
-        logTransition("Stopped");
-      }
-      catch (Throwable failure) {
-        doFailed("stop", failure);
-      }
+      logTransition("Stopping");
+      doStop();
+      current = State.STOPPED;
+      logTransition("Stopped");
+      fireStopped(acquired - requested, System.nanoTime() - acquired);
+    }
+    catch (Throwable failure) {
+      fireFailed("stop", acquired - requested, System.nanoTime() - acquired, failure);
+      doFailed("stop", failure);
     }
     finally {
-      lock.unlock();
+      end(next, State.STOPPING, previous);
     }
   }
 
@@ -176,6 +277,47 @@ public class LifecycleSupport
     return is(State.FAILED);
   }
 
+  //
+  // Listeners
+  //
+
+  private void fireStarted(final long lockWaitNanos, final long durationNanos) {
+    for (LifecycleListener listener : listeners) {
+      try {
+        listener.started(this, lockWaitNanos, durationNanos);
+      }
+      catch (Exception e) {
+        log.warn("Listener failed: {}", listener, e);
+      }
+    }
+  }
+
+  private void fireStopped(final long lockWaitNanos, final long durationNanos) {
+    for (LifecycleListener listener : listeners) {
+      try {
+        listener.stopped(this, lockWaitNanos, durationNanos);
+      }
+      catch (Exception e) {
+        log.warn("Listener failed: {}", listener, e);
+      }
+    }
+  }
+
+  private void fireFailed(final String operation,
+                          final long lockWaitNanos,
+                          final long durationNanos,
+                          final Throwable cause)
+  {
+    for (LifecycleListener listener : listeners) {
+      try {
+        listener.failed(this, operation, lockWaitNanos, durationNanos, cause);
+      }
+      catch (Exception e) {
+        log.warn("Listener failed: {}", listener, e);
+      }
+    }
+  }
+
   private static RuntimeException propagate(Throwable throwable) {
     Throwables.throwIfUnchecked(throwable);
     throw new RuntimeException(throwable);
@@ -12,11 +12,26 @@
  */
 package org.sonatype.goodies.lifecycle;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+
+import org.sonatype.goodies.common.MultipleFailures;
+import org.sonatype.goodies.common.MultipleFailures.MultipleFailuresException;
+
 import com.google.common.base.Throwables;
+import com.google.common.math.LongMath;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * {@link Lifecycle} helpers.
@@ -121,6 +136,196 @@ public class Lifecycles
     }
   }
 
+  //
+  // Asynchronous
+  //
+
+  private interface Transition
+  {
+    void run(Lifecycle lifecycle) throws Exception;
+  }
+
+  private static CompletableFuture<Void> async(final Object component,
+                                               final Executor executor,
+                                               final Transition transition)
+  {
+    Lifecycle lifecycle;
+    if (component instanceof Lifecycle) {
+      lifecycle = (Lifecycle) component;
+    }
+    else if (component instanceof LifecycleAware) {
+      lifecycle = ((LifecycleAware) component).getLifecycle();
+    }
+    else {
+      log.warn("Unable to transition component; not a lifecycle: {}", component);
+      return CompletableFuture.completedFuture(null);
+    }
+
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        try {
+          transition.run(lifecycle);
+          future.complete(null);
+        }
+        catch (Throwable failure) {
+          future.completeExceptionally(failure);
+        }
+      });
+    }
+    catch (Exception e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private static CompletableFuture<Void> invoke(final AsyncLifecycle component, final boolean start) {
+    try {
+      CompletableFuture<Void> future = start ? component.startAsync() : component.stopAsync();
+      // component may own or share its future; callers (and timeouts) only cancel a dependent copy
+      return checkNotNull(future).copy();
+    }
+    catch (Throwable failure) {
+      return CompletableFuture.failedFuture(failure);
+    }
+  }
+
+  /**
+   * Start given component asynchronously.
+   *
+   * {@link AsyncLifecycle} components are started directly; {@link Lifecycle} and {@link LifecycleAware}
+   * components are started on given executor.
+   *
+   * @since 3.0.1
+   */
+  public static CompletableFuture<Void> startAsync(final Object component, final Executor executor) {
+    checkNotNull(component);
+    checkNotNull(executor);
+    if (component instanceof AsyncLifecycle) {
+      return invoke((AsyncLifecycle) component, true);
+    }
+    return async(component, executor, Lifecycle::start);
+  }
+
+  /**
+   * Stop given component asynchronously.
+   *
+   * @since 3.0.1
+   * @see #startAsync(Object, Executor)
+   */
+  public static CompletableFuture<Void> stopAsync(final Object component, final Executor executor) {
+    checkNotNull(component);
+    checkNotNull(executor);
+    if (component instanceof AsyncLifecycle) {
+      return invoke((AsyncLifecycle) component, false);
+    }
+    return async(component, executor, Lifecycle::stop);
+  }
+
+  /**
+   * Start all given components concurrently and wait up to given timeout for all to complete.
+   *
+   * Components which fail or do not complete within the timeout are collected as failures.
+   *
+   * @since 3.0.1
+   * @see #startAsync(Object, Executor)
+   */
+  public static void startAll(final Executor executor, final Duration timeout, final Iterable<?> components)
+      throws MultipleFailuresException
+  {
+    checkNotNull(executor);
+    checkNotNull(timeout);
+    checkNotNull(components);
+    List<Object> targets = new ArrayList<>();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (Object component : components) {
+      targets.add(component);
+      futures.add(startAsync(component, executor));
+    }
+    awaitAll("start", targets, futures, timeout);
+  }
+
+  /**
+   * @since 3.0.1
+   * @see #startAll(Executor, Duration, Iterable)
+   */
+  public static void startAll(final Executor executor, final Duration timeout, final Object... components)
+      throws MultipleFailuresException
+  {
+    checkNotNull(components);
+    startAll(executor, timeout, Arrays.asList(components));
+  }
+
+  /**
+   * Stop all given components concurrently and wait up to given timeout for all to complete.
+   *
+   * Components which fail or do not complete within the timeout are collected as failures.
+   *
+   * @since 3.0.1
+   * @see #stopAsync(Object, Executor)
+   */
+  public static void stopAll(final Executor executor, final Duration timeout, final Iterable<?> components)
+      throws MultipleFailuresException
+  {
+    checkNotNull(executor);
+    checkNotNull(timeout);
+    checkNotNull(components);
+    List<Object> targets = new ArrayList<>();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (Object component : components) {
+      targets.add(component);
+      futures.add(stopAsync(component, executor));
+    }
+    awaitAll("stop", targets, futures, timeout);
+  }
+
+  /**
+   * @since 3.0.1
+   * @see #stopAll(Executor, Duration, Iterable)
+   */
+  public static void stopAll(final Executor executor, final Duration timeout, final Object... components)
+      throws MultipleFailuresException
+  {
+    checkNotNull(components);
+    stopAll(executor, timeout, Arrays.asList(components));
+  }
+
+  private static void awaitAll(final String operation,
+                               final List<Object> components,
+                               final List<CompletableFuture<Void>> futures,
+                               final Duration timeout)
+      throws MultipleFailuresException
+  {
+    long deadline = LongMath.saturatedAdd(System.nanoTime(), NANOSECONDS.convert(timeout));
+    MultipleFailures failures = new MultipleFailures(futures.size());
+    for (int i = 0; i < futures.size(); i++) {
+      Object component = components.get(i);
+      CompletableFuture<Void> future = futures.get(i);
+      try {
+        future.get(Math.max(0, deadline - System.nanoTime()), NANOSECONDS);
+      }
+      catch (ExecutionException e) {
+        log.error("Failed to {} component: {}", operation, component, e.getCause());
+        failures.add(e.getCause());
+      }
+      catch (CancellationException e) {
+        log.error("Cancelled {} of component: {}", operation, component);
+        failures.add(e);
+      }
+      catch (TimeoutException e) {
+        future.cancel(false);
+        log.error("Timed out waiting to {} component: {}", operation, component);
+        failures.add(new TimeoutException("Timed out waiting to " + operation + " component: " + component));
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        failures.add(e);
+        break;
+      }
+    }
+    failures.maybePropagate("Failed to " + operation + " " + failures.size() + " components");
+  }
+
   private static RuntimeException propagate(Throwable throwable) {
     Throwables.throwIfUnchecked(throwable);
     throw new RuntimeException(throwable);
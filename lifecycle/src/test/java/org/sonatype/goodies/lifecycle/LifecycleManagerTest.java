@@ -12,8 +12,15 @@
  */
 package org.sonatype.goodies.lifecycle;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
 
@@ -24,10 +31,13 @@ import org.sonatype.goodies.testsupport.TestSupport;
 import org.junit.Test;
 
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Tests for {@link LifecycleManager}.
@@ -294,4 +304,303 @@ public class LifecycleManagerTest
     assertThat(stopped, contains(bar, foo));
   }
 
-}
\ No newline at end of file
+  private static LifecycleSupport recording(final List<Lifecycle> started, final List<Lifecycle> stopped) {
+    return new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        started.add(this);
+      }
+
+      @Override
+      protected void doStop() throws Exception {
+        stopped.add(this);
+      }
+    };
+  }
+
+  @Test
+  public void dependencyOrdering() throws Exception {
+    final List<Lifecycle> started = new ArrayList<>();
+    final List<Lifecycle> stopped = new ArrayList<>();
+
+    LifecycleManager underTest = new LifecycleManager();
+    LifecycleSupport foo = recording(started, stopped);
+    LifecycleSupport bar = recording(started, stopped);
+    LifecycleSupport baz = recording(started, stopped);
+
+    underTest.add(foo, bar, baz);
+    underTest.dependsOn(foo, baz);
+
+    underTest.start();
+    assertThat(started, contains(baz, foo, bar));
+
+    underTest.stop();
+    assertThat(stopped, contains(bar, foo, baz));
+  }
+
+  @Test
+  public void dependencyCycleFailsStart() throws Exception {
+    LifecycleManager underTest = new LifecycleManager();
+    LifecycleSupport foo = new LifecycleSupport();
+    LifecycleSupport bar = new LifecycleSupport();
+
+    underTest.add(foo, bar);
+    underTest.dependsOn(foo, bar);
+    underTest.dependsOn(bar, foo);
+
+    try {
+      underTest.start();
+      fail();
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+
+    assertState(underTest, State.FAILED);
+    assertState(foo, State.NEW);
+    assertState(bar, State.NEW);
+  }
+
+  @Test
+  public void dependencyFailureSkipsDependent() throws Exception {
+    LifecycleManager underTest = new LifecycleManager();
+    LifecycleSupport foo = new LifecycleSupport();
+    LifecycleSupport bar = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        throw new TestException();
+      }
+    };
+
+    underTest.add(foo, bar);
+    underTest.dependsOn(foo, bar);
+
+    try {
+      underTest.start();
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      List<Throwable> failures = e.getFailures();
+      assertThat(failures.size(), is(2));
+      assertThat(failures.get(0), instanceOf(TestException.class));
+      assertThat(failures.get(1), instanceOf(IllegalStateException.class));
+
+      assertState(foo, State.NEW);
+      assertState(bar, State.FAILED);
+    }
+  }
+
+  @Test
+  public void concurrentStartStop() throws Exception {
+    final int count = 8;
+    final CountDownLatch latch = new CountDownLatch(count);
+    final List<Lifecycle> started = Collections.synchronizedList(new ArrayList<>());
+    final List<Lifecycle> stopped = Collections.synchronizedList(new ArrayList<>());
+
+    LifecycleManager underTest = new LifecycleManager();
+    List<LifecycleSupport> independent = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      LifecycleSupport component = new LifecycleSupport()
+      {
+        @Override
+        protected void doStart() throws Exception {
+          // only completes if all independent components are starting at the same time
+          latch.countDown();
+          assertTrue(latch.await(10, TimeUnit.SECONDS));
+          started.add(this);
+        }
+
+        @Override
+        protected void doStop() throws Exception {
+          stopped.add(this);
+        }
+      };
+      independent.add(component);
+      underTest.add(component);
+    }
+    LifecycleSupport dependent = recording(started, stopped);
+    underTest.add(dependent);
+    underTest.dependsOn(dependent, independent.toArray(new Lifecycle[0]));
+
+    ExecutorService executor = Executors.newFixedThreadPool(count);
+    try {
+      underTest.setExecutor(executor);
+
+      underTest.start();
+      assertState(underTest, State.STARTED);
+      assertThat(started.size(), is(count + 1));
+      assertThat(started.get(count), is(dependent));
+
+      underTest.stop();
+      assertState(underTest, State.STOPPED);
+      assertThat(stopped.size(), is(count + 1));
+      assertThat(stopped.get(0), is(dependent));
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void componentStatistics() throws Exception {
+    LifecycleManager underTest = new LifecycleManager();
+    LifecycleSupport fast = new LifecycleSupport();
+    LifecycleSupport slow = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        Thread.sleep(50);
+      }
+    };
+    Lifecycle failing = new Lifecycle()
+    {
+      @Override
+      public void start() throws Exception {
+        throw new TestException();
+      }
+
+      @Override
+      public void stop() throws Exception {
+        // empty
+      }
+    };
+    LifecycleStatistics statistics = new LifecycleStatistics();
+    underTest.addComponentListener(statistics);
+    underTest.add(fast, slow, failing);
+
+    try {
+      underTest.start();
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      // expected
+    }
+
+    assertThat(statistics.get(fast).getStarts(), is(1L));
+    assertThat(statistics.get(slow).getStarts(), is(1L));
+    assertThat(statistics.get(failing).getFailures(), is(1L));
+    assertThat(statistics.slowestStarts(1).get(0).getComponent(), is((Lifecycle) slow));
+    assertThat(statistics.report(3), containsString(slow.toString()));
+  }
+
+  private static class DrainableComponent
+      extends LifecycleSupport
+      implements Drainable
+  {
+    private final List<String> events;
+
+    private final String name;
+
+    DrainableComponent(final List<String> events, final String name) {
+      this.events = events;
+      this.name = name;
+    }
+
+    @Override
+    public void drain() throws Exception {
+      events.add("drain " + name);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+      events.add("stop " + name);
+    }
+  }
+
+  @Test
+  public void drainBeforeStop() throws Exception {
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    LifecycleManager underTest = new LifecycleManager();
+    underTest.add(new DrainableComponent(events, "foo"), new DrainableComponent(events, "bar"));
+
+    underTest.start();
+    underTest.stop();
+
+    assertThat(events.size(), is(4));
+    assertThat(events.subList(0, 2), containsInAnyOrder("drain foo", "drain bar"));
+    assertThat(events.subList(2, 4), contains("stop bar", "stop foo"));
+  }
+
+  @Test
+  public void componentStopTimeoutSkipsHungComponent() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+
+    LifecycleManager underTest = new LifecycleManager();
+    LifecycleSupport foo = new LifecycleSupport();
+    LifecycleSupport hung = new LifecycleSupport()
+    {
+      @Override
+      protected void doStop() throws Exception {
+        release.await();
+      }
+    };
+    underTest.add(foo, hung);
+    underTest.dependsOn(hung, foo);
+    underTest.setComponentStopTimeout(Duration.ofMillis(100));
+
+    underTest.start();
+    try {
+      underTest.stop();
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      List<Throwable> failures = e.getFailures();
+      assertThat(failures.size(), is(1));
+      assertThat(failures.get(0), instanceOf(TimeoutException.class));
+
+      // dependency is still stopped once the hung dependent overruns
+      assertState(foo, State.STOPPED);
+    }
+    finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void stopTimeoutAbandonsRemainingComponents() throws Exception {
+    final CountDownLatch stopping = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    LifecycleManager underTest = new LifecycleManager();
+    underTest.setExecutor(executor);
+    LifecycleSupport foo = new LifecycleSupport();
+    LifecycleSupport hung = new LifecycleSupport()
+    {
+      @Override
+      protected void doStop() throws Exception {
+        stopping.countDown();
+        release.await();
+      }
+    };
+    underTest.add(foo, hung);
+    underTest.dependsOn(hung, foo);
+    underTest.setStopTimeout(Duration.ofMillis(100));
+
+    underTest.start();
+    try {
+      underTest.stop();
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      assertTrue(stopping.await(10, TimeUnit.SECONDS));
+      List<Throwable> failures = e.getFailures();
+      assertThat(failures.size(), is(2));
+      assertThat(failures.get(0), instanceOf(TimeoutException.class));
+      assertThat(failures.get(1), instanceOf(TimeoutException.class));
+    }
+    finally {
+      release.countDown();
+      // hung stop, and any step scheduled once it completes, have run once the executor terminates
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    // dependency whose turn came after the deadline is never stopped
+    assertState(foo, State.STARTED);
+  }
+
+}
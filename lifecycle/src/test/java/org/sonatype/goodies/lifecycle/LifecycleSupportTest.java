@@ -12,11 +12,21 @@
  */
 package org.sonatype.goodies.lifecycle;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.sonatype.goodies.lifecycle.LifecycleSupport.State;
 import org.sonatype.goodies.testsupport.TestSupport;
 
 import org.junit.Test;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -270,4 +280,114 @@ public class LifecycleSupportTest
 
     assertState(underTest, State.FAILED);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void listenerNotified() throws Exception {
+    final List<String> events = new ArrayList<>();
+    LifecycleSupport underTest = new LifecycleSupport()
+    {
+      @Override
+      protected void doStop() throws Exception {
+        throw new TestException();
+      }
+    };
+    underTest.addListener(new LifecycleListener()
+    {
+      @Override
+      public void started(final Lifecycle component, final long lockWaitNanos, final long durationNanos) {
+        assertThat(component, is((Lifecycle) underTest));
+        assertThat(lockWaitNanos, greaterThanOrEqualTo(0L));
+        assertThat(durationNanos, greaterThanOrEqualTo(0L));
+        events.add("started");
+      }
+
+      @Override
+      public void failed(final Lifecycle component,
+                         final String operation,
+                         final long lockWaitNanos,
+                         final long durationNanos,
+                         final Throwable cause)
+      {
+        assertThat(cause, instanceOf(TestException.class));
+        events.add("failed " + operation);
+      }
+    });
+
+    underTest.start();
+    try {
+      underTest.stop();
+      fail();
+    }
+    catch (TestException e) {
+      // expected
+    }
+
+    assertThat(events, contains("started", "failed stop"));
+  }
+
+  @Test
+  public void concurrentStartWaitsForTransition() throws Exception {
+    final CountDownLatch starting = new CountDownLatch(1);
+    final CountDownLatch proceed = new CountDownLatch(1);
+    final LifecycleSupport underTest = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        starting.countDown();
+        proceed.await();
+      }
+    };
+
+    Thread first = new Thread(() -> {
+      try {
+        underTest.start();
+      }
+      catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    first.start();
+    assertTrue(starting.await(10, TimeUnit.SECONDS));
+    assertTrue(underTest.is(State.STARTING));
+
+    final Exception[] failure = new Exception[1];
+    Thread second = new Thread(() -> {
+      try {
+        underTest.start();
+      }
+      catch (Exception e) {
+        failure[0] = e;
+      }
+    });
+    second.start();
+
+    proceed.countDown();
+    first.join(10_000);
+    second.join(10_000);
+
+    assertState(underTest, State.STARTED);
+    assertThat(failure[0], instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  public void reentrantTransitionFailsFast() throws Exception {
+    final Exception[] failure = new Exception[1];
+    LifecycleSupport underTest = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        try {
+          start();
+        }
+        catch (IllegalStateException e) {
+          failure[0] = e;
+        }
+      }
+    };
+
+    underTest.start();
+
+    assertState(underTest, State.STARTED);
+    assertThat(failure[0], instanceOf(IllegalStateException.class));
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2010-present Sonatype, Inc. All rights reserved.
+ *
+ * This program is licensed to you under the Apache License Version 2.0,
+ * and you may not use this file except in compliance with the Apache License Version 2.0.
+ * You may obtain a copy of the Apache License Version 2.0 at https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Apache License Version 2.0 is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Apache License Version 2.0 for the specific language governing permissions and limitations there under.
+ */
+package org.sonatype.goodies.lifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.sonatype.goodies.common.MultipleFailures.MultipleFailuresException;
+import org.sonatype.goodies.lifecycle.LifecycleSupport.State;
+import org.sonatype.goodies.testsupport.TestSupport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link Lifecycles}.
+ */
+public class LifecyclesTest
+    extends TestSupport
+{
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void startAllStopAll() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(2);
+    LifecycleSupport foo = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        // only completes if both components are starting at the same time
+        latch.countDown();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+      }
+    };
+    LifecycleSupport bar = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        latch.countDown();
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+      }
+    };
+    final boolean[] async = new boolean[1];
+    AsyncLifecycle baz = new AsyncLifecycle()
+    {
+      @Override
+      public CompletableFuture<Void> startAsync() {
+        async[0] = true;
+        return CompletableFuture.completedFuture(null);
+      }
+
+      @Override
+      public CompletableFuture<Void> stopAsync() {
+        async[0] = false;
+        return CompletableFuture.completedFuture(null);
+      }
+    };
+
+    Lifecycles.startAll(executor, Duration.ofSeconds(30), foo, bar, baz);
+    assertTrue(foo.is(State.STARTED));
+    assertTrue(bar.is(State.STARTED));
+    assertThat(async[0], is(true));
+
+    Lifecycles.stopAll(executor, Duration.ofSeconds(30), foo, bar, baz);
+    assertTrue(foo.is(State.STOPPED));
+    assertTrue(bar.is(State.STOPPED));
+    assertThat(async[0], is(false));
+  }
+
+  @Test
+  public void largeTimeoutDoesNotOverflow() throws Exception {
+    LifecycleSupport foo = new LifecycleSupport();
+
+    Lifecycles.startAll(executor, Duration.ofSeconds(Long.MAX_VALUE), foo);
+    assertTrue(foo.is(State.STARTED));
+
+    Lifecycles.stopAll(executor, Duration.ofDays(365 * 1000), foo);
+    assertTrue(foo.is(State.STOPPED));
+  }
+
+  @Test
+  public void startAllCollectsFailuresAndTimeouts() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    LifecycleSupport failing = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        throw new TestException();
+      }
+    };
+    LifecycleSupport hung = new LifecycleSupport()
+    {
+      @Override
+      protected void doStart() throws Exception {
+        release.await();
+      }
+    };
+
+    try {
+      Lifecycles.startAll(executor, Duration.ofMillis(100), failing, hung);
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      List<Throwable> failures = e.getFailures();
+      assertThat(failures.size(), is(2));
+      assertThat(failures.get(0), instanceOf(TestException.class));
+      assertThat(failures.get(1), instanceOf(TimeoutException.class));
+    }
+    finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void timeoutDoesNotCancelComponentFuture() throws Exception {
+    final CompletableFuture<Void> shared = new CompletableFuture<>();
+    AsyncLifecycle slow = new AsyncLifecycle()
+    {
+      @Override
+      public CompletableFuture<Void> startAsync() {
+        return shared;
+      }
+
+      @Override
+      public CompletableFuture<Void> stopAsync() {
+        return shared;
+      }
+    };
+
+    try {
+      Lifecycles.startAll(executor, Duration.ofMillis(10), slow);
+      fail();
+    }
+    catch (MultipleFailuresException e) {
+      assertThat(e.getFailures().get(0), instanceOf(TimeoutException.class));
+    }
+    assertThat(shared.isCancelled(), is(false));
+  }
+}